@@ -0,0 +1,40 @@
+package physicssim.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Lead Author(s):
+ * @author Arthur Nguyen
+ *
+ * Version/date: October 17, 2026
+ *
+ * BenchmarkMain
+ *
+ * Entry point of benchmarks.jar. Accepts the usual JMH command line and
+ * fills in project defaults when they are not given:
+ *  - all physicssim.bench benchmarks,
+ *  - the GC profiler (allocation rate per operation),
+ *  - JSON results in jmh-result.json, for comparing across commits.
+ */
+
+public class BenchmarkMain
+{
+	public static void main(String[] args) throws Exception
+	{
+		CommandLineOptions cli = new CommandLineOptions(args);
+		ChainedOptionsBuilder opts = new OptionsBuilder().parent(cli);
+
+		if (cli.getIncludes().isEmpty()) opts.include("physicssim\\.bench\\.");
+		if (cli.getProfilers().isEmpty()) opts.addProfiler(GCProfiler.class);
+		if (!cli.getResultFormat().hasValue())
+			opts.resultFormat(ResultFormatType.JSON);
+		if (!cli.getResult().hasValue()) opts.result("jmh-result.json");
+
+		new Runner(opts.build()).run();
+	}
+}
@@ -0,0 +1,106 @@
+package physicssim.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import physicssim.DataSet;
+import physicssim.FastCsvWriter;
+import physicssim.MassSpringSim;
+import physicssim.SimEngine;
+
+/**
+ * Lead Author(s):
+ * @author Arthur Nguyen
+ *
+ * Version/date: October 17, 2026
+ *
+ * CsvExportBenchmark
+ *
+ * DataSet.toCSV of a 1M-row run to a temp file, in the default
+ * (Double.toString-compatible) format and in fixed-precision mode.
+ * Scores are per cell: time and, from the GC profiler BenchmarkMain adds,
+ * gc.alloc.rate.norm in bytes per cell. formatCells writes the same values
+ * to a null stream, so it shows the formatter alone. Default mode still
+ * takes non-integer digits from Double.toString (a String per such cell,
+ * kept for byte compatibility on JDK 17); fixed mode should show ~0 B.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CsvExportBenchmark
+{
+	private static final int ROWS = 1_000_000;
+	private static final int CELLS = 7; // t, x, v, a, KE, PE, E
+	private static final int SAMPLE_CELLS = 7 * 4096; // formatCells batch
+
+	@Param({ "-1", "6" })
+	int fixedDigits; // -1 = default format
+
+	private SimEngine engine;
+	private File out;
+	private double[] cells; // first SAMPLE_CELLS values of the run
+	private FastCsvWriter sink; // formats into a null stream
+
+	@Setup
+	public void setup() throws IOException
+	{
+		Map<String, Double> p = new HashMap<>();
+		p.put("m", 1.0);
+		p.put("k", 20.0);
+		p.put("c", 0.3);
+		p.put("x0", 0.2);
+
+		engine = new SimEngine(new MassSpringSim(), new DataSet<>(6));
+		engine.setDt(1e-3);
+		engine.reset(p);
+		engine.runSteps(ROWS - 1);
+
+		out = File.createTempFile("bench", ".csv");
+		out.deleteOnExit();
+
+		cells = new double[SAMPLE_CELLS];
+		DataSet<double[]> data = engine.dataset();
+		for (int i = 0; i < SAMPLE_CELLS; i++)
+			cells[i] = i % CELLS == 0 ? data.time(i / CELLS)
+					: data.value(i / CELLS, i % CELLS - 1);
+		sink = new FastCsvWriter(OutputStream.nullOutputStream());
+		sink.setFixedDigits(fixedDigits);
+	}
+
+	@TearDown
+	public void tearDown()
+	{
+		out.delete();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ROWS * CELLS)
+	public File toCSV() throws IOException
+	{
+		engine.dataset().toCSV(out, engine.headerWithT(), fixedDigits);
+		return out;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SAMPLE_CELLS)
+	public FastCsvWriter formatCells() throws IOException
+	{
+		for (double v : cells)
+		{
+			sink.writeDouble(v);
+			sink.comma();
+		}
+		sink.flush();
+		return sink;
+	}
+}
@@ -0,0 +1,115 @@
+package physicssim.bench;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import physicssim.MassSpringSim;
+
+/**
+ * Lead Author(s):
+ * @author Arthur Nguyen
+ *
+ * Version/date: October 17, 2026
+ *
+ * ForceLawBenchmark
+ *
+ * Cost of going through ForceLaw. hardCoded is the old step with the
+ * linear force written inline; linearLaw is MassSpringSim.step with the
+ * same law as a ForceLaw, and should match it. duffing and allTerms show
+ * what the extra terms cost; mixedLaws steps four sims with different
+ * laws in turn, to check the force call stays monomorphic when several
+ * laws are in use at once.
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ForceLawBenchmark
+{
+	private static final double DT = 1e-3;
+
+	// ===== Inline reference: the pre-ForceLaw semi-implicit Euler =====
+	private double m = 1.0, k = 20.0, c = 0.0, x = 0.2, v = 0.0, time;
+
+	private MassSpringSim linear, duffing, allTerms, stiff;
+	private MassSpringSim[] mixed;
+
+	@Setup
+	public void setup()
+	{
+		Map<String, Double> p = new HashMap<>();
+		p.put("m", 1.0);
+		p.put("k", 20.0); // undamped: state neither decays nor blows up
+		p.put("x0", 0.2);
+		linear = sim(p);
+
+		p.put("beta", 50.0);
+		duffing = sim(p);
+
+		p.put("friction", 0.01);
+		p.put("F0", 0.5);
+		p.put("omega", 4.0);
+		p.put("g", 9.81);
+		allTerms = sim(p);
+
+		Map<String, Double> q = new HashMap<>(p);
+		q.put("k", 200.0);
+		q.remove("friction");
+		stiff = sim(q);
+		mixed = new MassSpringSim[] { linear, duffing, allTerms, stiff };
+	}
+
+	@Benchmark
+	public double hardCoded()
+	{
+		double a = -(c / m) * v - (k / m) * x;
+		v += a * DT;
+		x += v * DT;
+		time += DT;
+		return x;
+	}
+
+	@Benchmark
+	public MassSpringSim linearLaw()
+	{
+		linear.step(DT);
+		return linear;
+	}
+
+	@Benchmark
+	public MassSpringSim duffing()
+	{
+		duffing.step(DT);
+		return duffing;
+	}
+
+	@Benchmark
+	public MassSpringSim allTerms()
+	{
+		allTerms.step(DT);
+		return allTerms;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(4)
+	public MassSpringSim mixedLaws()
+	{
+		for (MassSpringSim s : mixed)
+			s.step(DT);
+		return mixed[3];
+	}
+
+	// ---- Helper: a sim reset with the given parameters ----
+	private static MassSpringSim sim(Map<String, Double> p)
+	{
+		MassSpringSim s = new MassSpringSim();
+		s.reset(p);
+		return s;
+	}
+}
@@ -0,0 +1,78 @@
+package physicssim.bench;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import physicssim.DataSet;
+import physicssim.MassSpringSim;
+import physicssim.SimEngine;
+
+/**
+ * Lead Author(s):
+ * @author Arthur Nguyen
+ *
+ * Version/date: October 17, 2026
+ *
+ * LogBenchmark
+ *
+ * Cost of the engine's hot path per step: snapshot alone, and
+ * SimEngine.stepOnce (step + snapshot + log) for each DataSet storage mode.
+ * Run with the GC profiler (BenchmarkMain adds it by default) to see the
+ * steady-state allocation rate: gc.alloc.rate.norm is bytes per step.
+ * The growable modes are cleared every LIMIT samples so the heap stays flat.
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogBenchmark
+{
+	private static final int LIMIT = 1 << 16; // samples kept before clearing
+
+	@Param({ "list", "columnar", "ring" })
+	String storage;
+
+	private MassSpringSim sim;
+	private DataSet<double[]> data;
+	private SimEngine engine;
+	private final double[] sample = new double[7];
+
+	@Setup
+	public void setup()
+	{
+		if ("list".equals(storage)) data = new DataSet<>();
+		else data = new DataSet<>(6);
+		if ("ring".equals(storage)) data.setRingCapacity(LIMIT);
+
+		Map<String, Double> p = new HashMap<>();
+		p.put("m", 1.0);
+		p.put("k", 20.0);
+		p.put("x0", 0.2);
+
+		sim = new MassSpringSim();
+		engine = new SimEngine(sim, data);
+		engine.setDt(1e-3);
+		engine.reset(p);
+	}
+
+	@Benchmark
+	public double[] snapshotInto()
+	{
+		sim.snapshotInto(sample, 0);
+		return sample;
+	}
+
+	@Benchmark
+	public DataSet<double[]> stepAndLog()
+	{
+		if (data.size() >= LIMIT && data.ringCapacity() == 0) data.clear();
+		engine.stepOnce();
+		return data;
+	}
+}
@@ -0,0 +1,63 @@
+package physicssim.bench;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import physicssim.SpringNetwork;
+
+/**
+ * Lead Author(s):
+ * @author Arthur Nguyen
+ *
+ * Version/date: October 17, 2026
+ *
+ * NetworkBenchmark
+ *
+ * One SpringNetwork.step of a hanging cloth (side × side nodes, shear
+ * springs on) with 1..N worker threads, to check how the parallel passes
+ * scale with the core count. Results are identical for every count, so
+ * only the time differs.
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NetworkBenchmark
+{
+	@Param({ "320" })
+	int side; // 320 × 320 ≈ 100k nodes
+
+	@Param({ "1", "2", "4", "8" })
+	int threads;
+
+	private SpringNetwork cloth;
+
+	@Setup
+	public void setup()
+	{
+		Map<String, Double> p = new HashMap<>();
+		p.put("g", 9.81);
+		cloth = SpringNetwork.grid(side, side, 0.01, 1e-3, 50.0, 0.01, true);
+		cloth.setThreads(threads);
+		cloth.reset(p);
+	}
+
+	@TearDown
+	public void tearDown()
+	{
+		cloth.close(); // stop the pool threads
+	}
+
+	@Benchmark
+	public SpringNetwork step()
+	{
+		cloth.step(1e-4);
+		return cloth;
+	}
+}
@@ -0,0 +1,82 @@
+package physicssim.bench;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import physicssim.MassSpringBatch;
+import physicssim.MassSpringSim;
+import physicssim.SpringNetwork;
+
+/**
+ * Lead Author(s):
+ * @author Arthur Nguyen
+ *
+ * Version/date: October 17, 2026
+ *
+ * StepBenchmark
+ *
+ * Raw physics throughput: one MassSpringSim.step, and one
+ * MassSpringBatch.step over n oscillators (divide by n for the cost per
+ * oscillator-step), and one SpringNetwork.step of a 320 × 320 cloth
+ * (~100k nodes, ~400k springs). No logging involved.
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StepBenchmark
+{
+	@Param({ "1024" })
+	int n; // batch size
+
+	private MassSpringSim sim;
+	private MassSpringBatch batch;
+	private SpringNetwork cloth;
+
+	@Setup
+	public void setup()
+	{
+		Map<String, Double> p = new HashMap<>();
+		p.put("m", 1.0);
+		p.put("k", 20.0); // undamped: state neither decays nor blows up
+		p.put("x0", 0.2);
+		p.put("n", (double) n);
+
+		sim = new MassSpringSim();
+		sim.reset(p);
+		batch = new MassSpringBatch(n);
+		batch.reset(p);
+
+		Map<String, Double> g = new HashMap<>();
+		g.put("g", 9.81);
+		cloth = SpringNetwork.grid(320, 320, 0.01, 1e-3, 50.0, 0.01, true);
+		cloth.reset(g);
+	}
+
+	@Benchmark
+	public MassSpringSim singleStep()
+	{
+		sim.step(1e-3);
+		return sim;
+	}
+
+	@Benchmark
+	public MassSpringBatch batchStep()
+	{
+		batch.step(1e-3);
+		return batch;
+	}
+
+	@Benchmark
+	public SpringNetwork networkStep()
+	{
+		cloth.step(1e-4);
+		return cloth;
+	}
+}
@@ -0,0 +1,234 @@
+package physicssim;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Lead Author(s):
+ * @author Arthur Nguyen
+ *
+ * Version/date: October 17, 2026
+ *
+ * BinaryTrace
+ *
+ * Compact binary alternative to CSV for recorded runs.
+ * File layout (all little-endian):
+ *  - magic "PSTRACE1", int columns, long rows
+ *  - per column: int byte length + UTF-8 name (e.g. t, x, v, a, KE, PE, E)
+ *  - zero padding up to a multiple of 8 bytes
+ *  - the data, column by column: rows doubles of column 0, then column 1...
+ * write(...) streams a DataSet through a FileChannel with a direct buffer;
+ * open(...) memory-maps the columns, so reading never copies the data onto
+ * the heap. Each column is mapped separately and is limited to 2 GB
+ * (about 268 million rows).
+ */
+
+public class BinaryTrace implements Closeable
+{
+	/** Conventional file extension for traces. */
+	public static final String EXTENSION = ".bin";
+
+	private static final byte[] MAGIC = "PSTRACE1"
+			.getBytes(StandardCharsets.US_ASCII);
+	private static final int BUFFER_SIZE = 1 << 20; // direct write buffer
+
+	// ===== Reader state =====
+	private final FileChannel channel;
+	private final String[] names;
+	private final long rows;
+	private final DoubleBuffer[] columns; // one read-only view per column
+
+	private BinaryTrace(FileChannel channel, String[] names, long rows,
+			DoubleBuffer[] columns)
+	{
+		this.channel = channel;
+		this.names = names;
+		this.rows = rows;
+		this.columns = columns;
+	}
+
+	// ===== Writing =====
+
+	/**
+	 * Write data as a trace: column 0 is time, then one column per row
+	 * value. The header names the columns and may be null (then c0, c1...).
+	 */
+	public static void write(File file, String[] header, DataSet<double[]> data)
+			throws IOException
+	{
+		int width = data.rowWidth() + 1; // time + row values
+		int rows = data.size();
+		String[] names = new String[width];
+		for (int c = 0; c < width; c++)
+			names[c] = header != null && c < header.length ? header[c]
+					: "c" + c;
+
+		try (FileChannel ch = FileChannel.open(file.toPath(),
+				StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING))
+		{
+			ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_SIZE)
+					.order(ByteOrder.LITTLE_ENDIAN);
+
+			// ---- header
+			buf.put(MAGIC).putInt(width).putLong(rows);
+			long headerBytes = MAGIC.length + 4 + 8;
+			for (String name : names)
+			{
+				byte[] utf8 = name.getBytes(StandardCharsets.UTF_8);
+				buf.putInt(utf8.length).put(utf8);
+				headerBytes += 4 + utf8.length;
+			}
+			for (long pad = (8 - headerBytes % 8) % 8; pad > 0; pad--)
+				buf.put((byte) 0);
+
+			// ---- data, one column at a time
+			for (int c = 0; c < width; c++)
+			{
+				for (int i = 0; i < rows; i++)
+				{
+					if (buf.remaining() < 8) drain(ch, buf);
+					buf.putDouble(c == 0 ? data.time(i) : data.value(i, c - 1));
+				}
+			}
+			drain(ch, buf);
+		}
+	}
+
+	// ---- Write everything in buf to the channel and empty it ----
+	private static void drain(FileChannel ch, ByteBuffer buf)
+			throws IOException
+	{
+		buf.flip();
+		while (buf.hasRemaining())
+			ch.write(buf);
+		buf.clear();
+	}
+
+	// ===== Reading =====
+
+	/** Memory-map a trace for reading (close() releases the file). */
+	public static BinaryTrace open(File file) throws IOException
+	{
+		FileChannel ch = FileChannel.open(file.toPath(),
+				StandardOpenOption.READ);
+		try
+		{
+			ByteBuffer head = ByteBuffer.allocate(MAGIC.length + 4 + 8)
+					.order(ByteOrder.LITTLE_ENDIAN);
+			readFully(ch, head, 0);
+			byte[] magic = new byte[MAGIC.length];
+			head.get(magic);
+			if (!Arrays.equals(magic, MAGIC))
+				throw new IOException(file.getName() + " is not a trace file");
+			int width = head.getInt();
+			long rows = head.getLong();
+			if (width < 1 || rows < 0)
+				throw new IOException(file.getName() + " has a bad header");
+			if (rows * 8 > Integer.MAX_VALUE)
+				throw new IOException("columns over 2 GB are not supported");
+
+			// ---- column names
+			long pos = head.capacity();
+			String[] names = new String[width];
+			ByteBuffer len = ByteBuffer.allocate(4)
+					.order(ByteOrder.LITTLE_ENDIAN);
+			for (int c = 0; c < width; c++)
+			{
+				len.clear();
+				readFully(ch, len, pos);
+				int n = len.getInt();
+				if (n < 0 || n > 4096)
+					throw new IOException(file.getName() + " has a bad header");
+				ByteBuffer name = ByteBuffer.allocate(n);
+				readFully(ch, name, pos + 4);
+				names[c] = new String(name.array(), StandardCharsets.UTF_8);
+				pos += 4 + n;
+			}
+			pos += (8 - pos % 8) % 8;
+
+			// ---- map each column
+			long colBytes = rows * 8;
+			if (ch.size() < pos + colBytes * width)
+				throw new IOException(file.getName() + " is truncated");
+			DoubleBuffer[] columns = new DoubleBuffer[width];
+			for (int c = 0; c < width; c++)
+				columns[c] = ch
+						.map(FileChannel.MapMode.READ_ONLY,
+								pos + c * colBytes, colBytes)
+						.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+
+			return new BinaryTrace(ch, names, rows, columns);
+		}
+		catch (IOException | RuntimeException ex)
+		{
+			ch.close();
+			throw ex;
+		}
+	}
+
+	// ---- Read exactly dst.remaining() bytes at pos, then flip ----
+	private static void readFully(FileChannel ch, ByteBuffer dst, long pos)
+			throws IOException
+	{
+		while (dst.hasRemaining())
+		{
+			int n = ch.read(dst, pos);
+			if (n < 0) throw new EOFException("trace file is truncated");
+			pos += n;
+		}
+		dst.flip();
+	}
+
+	/** Column names, e.g. {"t","x","v","a","KE","PE","E"}. */
+	public String[] columnNames()
+	{
+		return names.clone();
+	}
+
+	/** Index of the named column, or -1. */
+	public int columnIndex(String name)
+	{
+		for (int c = 0; c < names.length; c++)
+			if (names[c].equals(name)) return c;
+		return -1;
+	}
+
+	/** Number of samples (rows) in the trace. */
+	public int rows()
+	{
+		return (int) rows;
+	}
+
+	/** Value of column col at row (read straight from the mapping). */
+	public double get(int col, int row)
+	{
+		return columns[col].get(row);
+	}
+
+	/** Load the whole trace into a columnar DataSet (column 0 = time). */
+	public DataSet<double[]> toDataSet()
+	{
+		DataSet<double[]> data = new DataSet<>(names.length - 1);
+		double[] sample = new double[names.length];
+		for (int i = 0; i < rows; i++)
+		{
+			for (int c = 0; c < sample.length; c++)
+				sample[c] = columns[c].get(i);
+			data.addSample(sample);
+		}
+		return data;
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		channel.close();
+	}
+}
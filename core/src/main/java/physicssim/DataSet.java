@@ -0,0 +1,360 @@
+package physicssim;
+
+import java.io.*;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.*;
+
+/**
+ * Lead Author(s):
+ * @author Arthur Nguyen
+ * 
+ * Version/date: December 18, 2025
+ * 
+ * DataSet<T>
+ * 
+ * A tiny time-series "notebook" with two storage modes:
+ *  - list mode (new DataSet<>()):
+ *      times: holds the time column (boxed Double)
+ *      rows:  holds the per-step data object (any T)
+ *  - columnar mode (new DataSet<>(rowWidth), rows must be double[]):
+ *      one growable primitive double[] per channel, column 0 is time,
+ *      so a 7-channel sample costs 56 bytes and no per-sample objects.
+ *  - ring mode (columnar + setRingCapacity(n)): same columns, preallocated
+ *      to n samples; once full, each add overwrites the oldest sample, so
+ *      memory stays fixed on unbounded runs. Index 0 is always the oldest
+ *      retained sample.
+ * Provides clear(), add(time,row), size(), and toCSV(file, header).
+ *
+ * Columnar mode allows one writer thread (the simulation) and readers on
+ * other threads (live charts): size() only counts fully written samples.
+ * A reader racing a full ring may see its oldest samples replaced by
+ * newer ones. clear() and setRingCapacity() need the writer stopped.
+ */
+
+public class DataSet<T>
+{
+	private static final int INITIAL_CAPACITY = 1024; // samples per column
+
+	// ===== List mode storage =====
+	private final List<Double> times = new ArrayList<>();
+	private final List<T> rows = new ArrayList<>();
+
+	// ===== Columnar mode storage (null in list mode) =====
+	private final double[][] columns; // columns[0] = t, columns[1..] = row
+	private int count; // samples stored in the columns
+	private int ringCapacity; // 0 = grow without limit
+	private int head; // physical index of the oldest sample (ring mode)
+	private int clears; // bumped by clear(), so caches can tell a new run
+	// count and head are written with release and read (on other threads)
+	// with acquire, so a reader never sees a sample before its values
+	private static final VarHandle COUNT, HEAD;
+	static
+	{
+		try
+		{
+			MethodHandles.Lookup l = MethodHandles.lookup();
+			COUNT = l.findVarHandle(DataSet.class, "count", int.class);
+			HEAD = l.findVarHandle(DataSet.class, "head", int.class);
+		}
+		catch (ReflectiveOperationException e)
+		{
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	/** List mode: keeps each row object as given. */
+	public DataSet()
+	{
+		this.columns = null;
+	}
+
+	/**
+	 * Columnar mode: rows are double[rowWidth] and get copied into primitive
+	 * columns (the caller may reuse its row array).
+	 */
+	public DataSet(int rowWidth)
+	{
+		if (rowWidth < 0)
+			throw new IllegalArgumentException("rowWidth must be >= 0");
+		this.columns = new double[rowWidth + 1][INITIAL_CAPACITY];
+	}
+
+	/**
+	 * Keep only the most recent capacity samples (ring mode), or pass 0 to
+	 * grow without limit again. Columnar mode only; clears the data.
+	 */
+	public void setRingCapacity(int capacity)
+	{
+		if (columns == null)
+			throw new IllegalStateException("ring mode needs columnar mode");
+		if (capacity < 0)
+			throw new IllegalArgumentException("capacity must be >= 0");
+
+		clear();
+		if (capacity == ringCapacity) return;
+		ringCapacity = capacity;
+		int size = capacity > 0 ? capacity : INITIAL_CAPACITY;
+		for (int c = 0; c < columns.length; c++)
+			columns[c] = new double[size];
+	}
+
+	/** Ring capacity in samples, or 0 when the data set grows freely. */
+	public int ringCapacity()
+	{
+		return ringCapacity;
+	}
+
+	/** Clear all logged samples (used on Reset). */
+	public void clear()
+	{
+		times.clear();
+		rows.clear();
+		count = 0;
+		head = 0;
+		clears++;
+	}
+
+	/** Add a new sample: time value + row payload. */
+	public void add(double t, T row)
+	{
+		if (columns == null)
+		{
+			times.add(t);
+			rows.add(row);
+			return;
+		}
+
+		if (!(row instanceof double[])
+				|| ((double[]) row).length != columns.length - 1)
+			throw new IllegalArgumentException(
+					"row must be a double[" + (columns.length - 1) + "]");
+
+		double[] values = (double[]) row;
+		int slot = nextSlot();
+		columns[0][slot] = t;
+		for (int c = 0; c < values.length; c++)
+			columns[c + 1][slot] = values[c];
+		publish(slot);
+	}
+
+	/**
+	 * Add a sample laid out as [t, row...], e.g. a model snapshot. Columnar
+	 * mode copies it straight into the columns (no allocation, the caller
+	 * may reuse the array); list mode requires T = double[] and stores a
+	 * copy of the row part.
+	 */
+	@SuppressWarnings("unchecked")
+	public void addSample(double[] sample)
+	{
+		if (columns == null)
+		{
+			add(sample[0], (T) Arrays.copyOfRange(sample, 1, sample.length));
+			return;
+		}
+
+		if (sample.length != columns.length)
+			throw new IllegalArgumentException(
+					"sample must be a double[" + columns.length + "]");
+
+		int slot = nextSlot();
+		for (int c = 0; c < columns.length; c++)
+			columns[c][slot] = sample[c];
+		publish(slot);
+	}
+
+	/** Number of samples recorded. */
+	public int size()
+	{
+		return columns == null ? rows.size() : (int) COUNT.getAcquire(this);
+	}
+
+	/** Whether samples are stored in primitive columns. */
+	public boolean isColumnar()
+	{
+		return columns != null;
+	}
+
+	/** Time value of sample i. */
+	public double time(int i)
+	{
+		checkIndex(i);
+		return columns == null ? times.get(i) : columns[0][physical(i)];
+	}
+
+	/**
+	 * Row value of sample i in column col (0 = first row element). Needs
+	 * columnar mode or double[] rows.
+	 */
+	public double value(int i, int col)
+	{
+		checkIndex(i);
+		if (columns != null) return columns[col + 1][physical(i)];
+
+		T row = rows.get(i);
+		if (!(row instanceof double[]))
+			throw new IllegalStateException("value() needs double[] rows");
+		return ((double[]) row)[col];
+	}
+
+	/**
+	 * Column index of sample 0 right now: 0 until a ring fills, then it
+	 * moves with every add. A reader that takes it once (with size()) and
+	 * passes it to time(i, head) and value(i, head, col) sees one
+	 * consistent window instead of re-reading it per sample.
+	 */
+	public int headIndex()
+	{
+		return (int) HEAD.getAcquire(this);
+	}
+
+	/** time(i) against a headIndex() snapshot (ignored in list mode). */
+	public double time(int i, int head)
+	{
+		checkIndex(i);
+		return columns == null ? times.get(i) : columns[0][physical(i, head)];
+	}
+
+	/** value(i, col) against a headIndex() snapshot. */
+	public double value(int i, int head, int col)
+	{
+		if (columns == null) return value(i, col);
+		checkIndex(i);
+		return columns[col + 1][physical(i, head)];
+	}
+
+	/**
+	 * Values per row: the column count in columnar mode, otherwise the
+	 * length of the first double[] row (0 if empty or not numeric).
+	 */
+	public int rowWidth()
+	{
+		if (columns != null) return columns.length - 1;
+		if (rows.isEmpty() || !(rows.get(0) instanceof double[])) return 0;
+		return ((double[]) rows.get(0)).length;
+	}
+
+	// ---- Raw column access for same-package scanners (M4Downsampler):
+	// column c (0 = t); sample i lives at (headIndex() + i) mod size().
+	// Columnar mode only.
+	double[] column(int c)
+	{
+		return columns[c];
+	}
+
+	int clearCount()
+	{
+		return clears;
+	}
+
+	// ---- Column index to write the next sample to (O(1), ring-aware) ----
+	private int nextSlot()
+	{
+		if (ringCapacity == 0)
+		{
+			if (count == columns[0].length) grow();
+			return count;
+		}
+		return count < ringCapacity ? count : head; // full: the oldest
+	}
+
+	// ---- Make the sample just written to slot visible to readers ----
+	private void publish(int slot)
+	{
+		if (slot == count) COUNT.setRelease(this, count + 1);
+		else HEAD.setRelease(this, slot + 1 == ringCapacity ? 0 : slot + 1);
+	}
+
+	// ---- Logical sample index (0 = oldest) to column index ----
+	private int physical(int i)
+	{
+		return physical(i, (int) HEAD.getAcquire(this));
+	}
+
+	private int physical(int i, int head)
+	{
+		int p = head + i;
+		int n = count;
+		return p >= n ? p - n : p; // ring is full whenever head > 0
+	}
+
+	// ---- Double every column's capacity (amortized O(1) add) ----
+	private void grow()
+	{
+		int newCapacity = columns[0].length * 2;
+		for (int c = 0; c < columns.length; c++)
+			columns[c] = Arrays.copyOf(columns[c], newCapacity);
+	}
+
+	private void checkIndex(int i)
+	{
+		if (i < 0 || i >= size())
+			throw new IndexOutOfBoundsException(
+					"sample " + i + " of " + size());
+	}
+
+	/**
+	 * Write CSV to disk with a header line (if provided).
+	 * If the row type is double[], each number becomes a column.
+	 * 
+	 * @param header {"t","x","v","a","KE","PE","E"} may be null.
+	 */
+	public void toCSV(File file, String[] header) throws IOException
+	{
+		toCSV(file, header, -1);
+	}
+
+	/**
+	 * Same as toCSV(file, header), but with fixedDigits >= 0 every number is
+	 * printed with exactly that many decimals (smaller files, faster export).
+	 * A negative value keeps the default Double.toString format.
+	 */
+	public void toCSV(File file, String[] header, int fixedDigits)
+			throws IOException
+	{
+		try (FastCsvWriter out = new FastCsvWriter(file))
+		{
+			out.setFixedDigits(fixedDigits);
+
+			// ---- optional header
+			if (header != null && header.length > 0) out.writeHeader(header);
+
+			// ---- columnar rows (time, then each channel)
+			for (int i = 0; columns != null && i < count; i++)
+			{
+				int p = physical(i); // oldest first in ring mode
+				out.writeDouble(columns[0][p]);
+				for (int c = 1; c < columns.length; c++)
+				{
+					out.comma();
+					out.writeDouble(columns[c][p]);
+				}
+				out.newLine();
+			}
+
+			// ---- rows (time, then row payload)
+			for (int i = 0; i < rows.size(); i++)
+			{
+				out.writeDouble(times.get(i)); // first column is time
+				T row = rows.get(i);
+
+				if (row instanceof double[])
+				{
+					// If row is a numeric array, write each element as a column
+					for (double v : (double[]) row)
+					{
+						out.comma();
+						out.writeDouble(v);
+					}
+				}
+				else
+				{
+					// Fallback: write the object's toString
+					out.comma();
+					out.writeString(String.valueOf(row));
+				}
+				out.newLine();
+			}
+		}
+	}
+}
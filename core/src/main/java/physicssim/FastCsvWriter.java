@@ -0,0 +1,223 @@
+package physicssim;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Lead Author(s):
+ * @author Arthur Nguyen
+ *
+ * Version/date: October 17, 2026
+ *
+ * FastCsvWriter
+ *
+ * Unsynchronized CSV output for large numeric exports.
+ *  - Cells are formatted straight into one reusable byte[] buffer, which is
+ *    written to the stream in 64 KB blocks (no per-cell locking, no
+ *    PrintWriter/encoder layers).
+ *  - Default mode is byte-compatible with PrintWriter.print(double):
+ *    whole numbers below 1e7 are formatted by hand, everything else uses
+ *    Double.toString (the shortest round-trip digits on current JDKs).
+ *  - Fixed mode (setFixedDigits) prints exactly N decimals, formatted by
+ *    hand without allocating.
+ * Not thread-safe; one writer per thread.
+ */
+
+public class FastCsvWriter implements Closeable
+{
+	private static final int BUFFER_SIZE = 1 << 16;
+	private static final long[] POW10 = new long[18];
+	static
+	{
+		POW10[0] = 1;
+		for (int i = 1; i < POW10.length; i++)
+			POW10[i] = POW10[i - 1] * 10;
+	}
+
+	private static final byte[] NEWLINE = System.lineSeparator()
+			.getBytes(StandardCharsets.US_ASCII);
+
+	private final OutputStream out;
+	private final byte[] buf = new byte[BUFFER_SIZE];
+	private final byte[] digits = new byte[20]; // scratch for one long
+	private int pos; // bytes used in buf
+	private int fixedDigits = -1; // <0 = default (Double.toString) format
+
+	/** Write to out (closed by close()). */
+	public FastCsvWriter(OutputStream out)
+	{
+		this.out = out;
+	}
+
+	/** Create/truncate file and write to it. */
+	public FastCsvWriter(File file) throws IOException
+	{
+		this(new FileOutputStream(file));
+	}
+
+	/**
+	 * Print every following double with exactly digits decimals (0..17),
+	 * or pass a negative value to go back to the default format.
+	 */
+	public void setFixedDigits(int digits)
+	{
+		if (digits >= POW10.length)
+			throw new IllegalArgumentException(
+					"at most " + (POW10.length - 1) + " fixed digits");
+		this.fixedDigits = digits < 0 ? -1 : digits;
+	}
+
+	/** Write one number in the current mode. */
+	public void writeDouble(double v) throws IOException
+	{
+		if (fixedDigits >= 0) writeFixed(v);
+		else writeDefault(v);
+	}
+
+	/** Write a comma. */
+	public void comma() throws IOException
+	{
+		writeByte(',');
+	}
+
+	/** End the current line (platform line separator, like println). */
+	public void newLine() throws IOException
+	{
+		for (byte b : NEWLINE)
+			writeByte(b);
+	}
+
+	/** Write text as-is (UTF-8). */
+	public void writeString(String s) throws IOException
+	{
+		for (int i = 0, n = s.length(); i < n; i++)
+		{
+			char ch = s.charAt(i);
+			if (ch >= 0x80) // rare: headers / toString() fallbacks
+			{
+				for (byte b : s.substring(i).getBytes(StandardCharsets.UTF_8))
+					writeByte(b);
+				return;
+			}
+			writeByte(ch);
+		}
+	}
+
+	/** Write one CSV line: the cells joined by commas. */
+	public void writeHeader(String[] header) throws IOException
+	{
+		for (int i = 0; i < header.length; i++)
+		{
+			if (i > 0) comma();
+			writeString(header[i]);
+		}
+		newLine();
+	}
+
+	/** Push buffered bytes to the stream and flush it. */
+	public void flush() throws IOException
+	{
+		drain();
+		out.flush();
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		try
+		{
+			drain();
+		}
+		finally
+		{
+			out.close();
+		}
+	}
+
+	// ---- Default mode: identical to Double.toString ----
+	private void writeDefault(double v) throws IOException
+	{
+		// Whole numbers below 1e7 print as "<digits>.0" (no exponent)
+		if (v == (long) v && Math.abs(v) < 1e7
+				&& (v != 0 || 1 / v > 0)) // -0.0 prints "-0.0": slow path
+		{
+			writeLong((long) v);
+			writeByte('.');
+			writeByte('0');
+			return;
+		}
+		writeString(Double.toString(v));
+	}
+
+	// ---- Fixed mode: sign, integer part, '.', exactly fixedDigits ----
+	private void writeFixed(double v) throws IOException
+	{
+		double scaledAbs = Math.abs(v) * POW10[fixedDigits];
+		if (Double.isNaN(v) || Double.isInfinite(v))
+		{
+			writeString(Double.toString(v));
+			return;
+		}
+		// The product is off by up to half an ulp, which only matters when it
+		// lands that close to a .5 tie (or beyond 2^53): use exact decimal
+		double tail = scaledAbs - Math.floor(scaledAbs);
+		if (scaledAbs >= 0x1p53
+				|| Math.abs(tail - 0.5) <= Math.ulp(scaledAbs))
+		{
+			writeString(new BigDecimal(v)
+					.setScale(fixedDigits, RoundingMode.HALF_UP)
+					.toPlainString());
+			return;
+		}
+
+		long scaled = Math.round(scaledAbs);
+		if (v < 0 && scaled != 0) writeByte('-');
+		long pow = POW10[fixedDigits];
+		writeLong(scaled / pow);
+		if (fixedDigits == 0) return;
+
+		writeByte('.');
+		long frac = scaled % pow;
+		for (long p = pow / 10; p > 0; p /= 10)
+		{
+			writeByte('0' + (int) (frac / p));
+			frac %= p;
+		}
+	}
+
+	// ---- Decimal digits of a long without going through String ----
+	private void writeLong(long n) throws IOException
+	{
+		if (n < 0)
+		{
+			writeByte('-');
+			n = -n; // callers never pass Long.MIN_VALUE
+		}
+		int len = 0;
+		do
+		{
+			digits[len++] = (byte) ('0' + (n % 10));
+			n /= 10;
+		}
+		while (n != 0);
+		while (len > 0)
+			writeByte(digits[--len]);
+	}
+
+	private void writeByte(int b) throws IOException
+	{
+		if (pos == buf.length) drain();
+		buf[pos++] = (byte) b;
+	}
+
+	private void drain() throws IOException
+	{
+		if (pos > 0)
+		{
+			out.write(buf, 0, pos);
+			pos = 0;
+		}
+	}
+}
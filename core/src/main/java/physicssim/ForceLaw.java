@@ -0,0 +1,219 @@
+package physicssim;
+
+/**
+ * Lead Author(s):
+ * @author Arthur Nguyen
+ *
+ * Version/date: October 17, 2026
+ *
+ * ForceLaw
+ *
+ * The force F(t, x, v) on MassSpringSim's mass, built from terms:
+ *  - linear spring and viscous damping: −k·x − c·v (always present),
+ *  - Duffing cubic spring: −β·x³ (hardening for β > 0, softening < 0),
+ *  - Coulomb (dry) friction of fixed magnitude: −F_c·sign(v) while
+ *    sliding; at v = 0 it cancels the other forces up to F_c, so a mass
+ *    at rest stays there (sticks) unless they exceed F_c,
+ *  - external sinusoidal drive: F0·cos(ω·t),
+ *  - gravity along −x (a hanging spring): −m·g,
+ *  - and an optional custom Term for anything else.
+ *
+ * Immutable; linear(k, c) starts a law and the with... methods return a
+ * copy with one more term. The class is final and every built-in term is
+ * a plain coefficient, so the integrators' call force(t, x, v) only ever
+ * sees this one class and the JIT inlines it—no megamorphic interface
+ * call per term. A law with only the linear spring and damping takes a
+ * specialized short path; others pay a multiply-add or a well-predicted
+ * branch per term. Only a custom Term goes through an interface (still
+ * monomorphic while one Term class is in use). Integrators evaluate
+ * perUnitMass(m), so no division by m happens per call.
+ */
+
+public final class ForceLaw
+{
+	/** Extra force term for laws the built-in terms do not cover. */
+	@FunctionalInterface
+	public interface Term
+	{
+		/** Force (N) at time t, displacement x and velocity v. */
+		double force(double t, double x, double v);
+	}
+
+	private final double k, c; // linear spring (N/m), damping (N·s/m)
+	private final double beta; // Duffing cubic stiffness (N/m³)
+	private final double friction; // Coulomb friction magnitude (N)
+	private final double driveAmp, driveOmega; // F0 (N), ω (rad/s)
+	private final double weight; // m·g (N), acting along −x
+	private final Term custom; // null = none
+	private final double customScale; // factor on custom (perUnitMass)
+	private final boolean plain; // only −k·x − c·v: the fast path
+
+	private ForceLaw(double k, double c, double beta, double friction,
+			double driveAmp, double driveOmega, double weight, Term custom,
+			double customScale)
+	{
+		this.k = k;
+		this.c = c;
+		this.beta = beta;
+		this.friction = friction;
+		this.driveAmp = driveAmp;
+		this.driveOmega = driveOmega;
+		this.weight = weight;
+		this.custom = custom;
+		this.customScale = customScale;
+		plain = weight == 0.0 && isLinear();
+	}
+
+	/** Hooke spring k with viscous damping c: F = −k·x − c·v. */
+	public static ForceLaw linear(double k, double c)
+	{
+		if (!(k > 0)) throw new IllegalArgumentException("`k` must be > 0");
+		return new ForceLaw(k, Math.max(0.0, c), 0, 0, 0, 0, 0, null, 1.0);
+	}
+
+	/** Add a cubic (Duffing) spring term −β·x³. */
+	public ForceLaw withDuffing(double beta)
+	{
+		if (!Double.isFinite(beta))
+			throw new IllegalArgumentException("`beta` must be finite");
+		return new ForceLaw(k, c, beta, friction, driveAmp, driveOmega, weight,
+				custom, customScale);
+	}
+
+	/** Add Coulomb friction of the given magnitude, opposing v. */
+	public ForceLaw withFriction(double magnitude)
+	{
+		if (!(magnitude >= 0))
+			throw new IllegalArgumentException("`friction` must be >= 0");
+		return new ForceLaw(k, c, beta, magnitude, driveAmp, driveOmega,
+				weight, custom, customScale);
+	}
+
+	/** Add a sinusoidal drive F0·cos(ω·t). */
+	public ForceLaw withDrive(double amplitude, double omega)
+	{
+		if (!Double.isFinite(amplitude) || !Double.isFinite(omega))
+			throw new IllegalArgumentException("`F0` and `omega` must be finite");
+		return new ForceLaw(k, c, beta, friction, amplitude, omega, weight,
+				custom, customScale);
+	}
+
+	/** Add gravity g (m/s²) on a mass m, pulling towards −x. */
+	public ForceLaw withGravity(double m, double g)
+	{
+		if (!Double.isFinite(m * g))
+			throw new IllegalArgumentException("`g` must be finite");
+		return new ForceLaw(k, c, beta, friction, driveAmp, driveOmega, m * g,
+				custom, customScale);
+	}
+
+	/** Add a custom term (replaces any previous one). */
+	public ForceLaw with(Term term)
+	{
+		return new ForceLaw(k, c, beta, friction, driveAmp, driveOmega, weight,
+				term, customScale);
+	}
+
+	/**
+	 * The same law divided by m: its force() is the acceleration, with no
+	 * per-call division or scaling (what the integrators evaluate).
+	 */
+	public ForceLaw perUnitMass(double m)
+	{
+		if (!(m > 0)) throw new IllegalArgumentException("`m` must be > 0");
+		return new ForceLaw(k / m, c / m, beta / m, friction / m, driveAmp / m,
+				driveOmega, weight / m, custom, customScale / m);
+	}
+
+	// ===== Evaluation (hot path) =====
+
+	/**
+	 * Total force (N) at time t, displacement x and velocity v. A plain
+	 * damped spring takes the short path, anything else the general one.
+	 */
+	public double force(double t, double x, double v)
+	{
+		if (plain) return -c * v - k * x;
+		return generalForce(t, x, v);
+	}
+
+	// ---- Helper: every term (kept out of force() so that stays tiny) ----
+	private double generalForce(double t, double x, double v)
+	{
+		double f = otherForce(t, x, v);
+		if (friction == 0.0) return f;
+		if (v != 0.0) return f - friction * Math.signum(v); // sliding
+		return f - Math.max(-friction, Math.min(friction, f)); // static
+	}
+
+	// ---- Helper: every term but friction ----
+	private double otherForce(double t, double x, double v)
+	{
+		double f = -k * x - c * v - beta * x * x * x - weight;
+		if (driveAmp != 0.0) f += driveAmp * Math.cos(driveOmega * t);
+		if (custom != null) f += customScale * custom.force(t, x, v);
+		return f;
+	}
+
+	/**
+	 * True if friction holds a mass at rest at (t, x): the other forces at
+	 * v = 0 are no larger than the friction magnitude. Integrators stop a
+	 * mass whose velocity changes sign where this holds, instead of letting
+	 * −F_c·sign(v) flip it back and forth around v = 0.
+	 */
+	public boolean sticks(double t, double x)
+	{
+		return friction != 0.0
+				&& Math.abs(otherForce(t, x, 0.0)) <= friction;
+	}
+
+	/** −∂F/∂x: local stiffness, for implicit steps. */
+	public double stiffness(double x)
+	{
+		return k + 3.0 * beta * x * x;
+	}
+
+	/** −∂F/∂v: local damping, for implicit steps (friction not included). */
+	public double damping()
+	{
+		return c;
+	}
+
+	/**
+	 * Potential energy of the conservative terms (springs and gravity),
+	 * zero at x = 0. Friction, drive and a custom term are not included.
+	 */
+	public double potential(double x)
+	{
+		double x2 = x * x;
+		return 0.5 * k * x2 + 0.25 * beta * x2 * x2 + weight * x;
+	}
+
+	// ===== Closed-form support =====
+
+	/**
+	 * True if only the linear spring, damping and gravity are present—the
+	 * motion then has a closed form (about the shifted rest position).
+	 */
+	public boolean isLinear()
+	{
+		return beta == 0.0 && friction == 0.0 && driveAmp == 0.0
+				&& custom == null;
+	}
+
+	/** Rest position of the linear part: −m·g / k. */
+	public double equilibrium()
+	{
+		return -weight / k;
+	}
+
+	public double k()
+	{
+		return k;
+	}
+
+	public double c()
+	{
+		return c;
+	}
+}
@@ -0,0 +1,354 @@
+package physicssim;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Lead Author(s):
+ * @author Arthur Nguyen
+ *
+ * Version/date: October 17, 2026
+ *
+ * HeadlessRunner
+ *
+ * Command-line entry point for generating datasets without a display
+ * (CI boxes, servers). Runs SimEngine in batch mode and writes the CSV.
+ *
+ * Usage (all arguments are key=value, any order):
+ *   java physicssim.HeadlessRunner m=1 k=20 c=0.8 x0=0.2 v0=0 dt=0.001
+ *        seconds=10000 out=run.csv
+ *  - seconds=... or steps=... sets the run length (default seconds=10)
+ *  - beta=..., friction=..., F0=... omega=..., g=... add Duffing, Coulomb
+ *    friction, sinusoidal drive and gravity terms to the force law (see
+ *    ForceLaw); exact=true and check=true need the linear law.
+ *  - out=... is optional; without it only the stats are printed and no
+ *    rows are kept. CSV rows are streamed to the file during the run, so
+ *    memory stays constant; a .bin name keeps the rows in memory and
+ *    writes a BinaryTrace after the run instead.
+ *  - integrator=euler|verlet|rk4|yoshida4|exact|implicit|midpoint picks
+ *    the time-stepping scheme (default euler); higher orders allow a much
+ *    larger dt, the implicit ones stay stable at any dt for stiff springs.
+ *  - adaptive=tol switches to error-controlled Dormand–Prince 5(4)
+ *    steps (dt is then only the first trial step); the accepted and
+ *    rejected step counts are printed after the run.
+ *  - exact=true skips stepping altogether: rows are evaluated from the
+ *    closed-form solution at every multiple of dt (or of 1/logRate)
+ *    up to seconds, at O(1) cost each.
+ *  - check=true prints the final state's error against the closed-form
+ *    solution, to validate an integrator / dt / tolerance choice.
+ *  - logEvery=N, logRate=Hz or logTol=tol thin out the log (every Nth step,
+ *    fixed samples per simulated second, or only when x, v or E moved by
+ *    more than tol); by default every step is logged.
+ *  - model=chain or model=cloth runs a SpringNetwork instead of the single
+ *    mass: an n-mass chain (default n=100) or an n × n cloth with shear
+ *    springs (default n=32), m, k, c per node / spring, spacing=... apart
+ *    (default 0.1 m). x0/v0 pluck the probe node, g adds gravity and
+ *    threads=N steps it on N workers; integrator=euler|implicit|midpoint.
+ *    Rows hold the probe's x-motion and the network's total energies.
+ *
+ * Sweep mode: give any of m, k, c, x0, v0 as start:end:count, e.g.
+ *   java physicssim.HeadlessRunner k=5:50:100 c=0:2:50 dt=0.001
+ *        seconds=20 out=sweep.csv
+ * runs the whole grid in parallel (ParameterSweep) and writes one summary
+ * row per run instead of a time series.
+ */
+
+public class HeadlessRunner
+{
+	public static void main(String[] args)
+	{
+		try
+		{
+			Map<String, String> opts = parseArgs(args);
+			if (isSweep(opts))
+			{
+				runSweep(opts);
+				return;
+			}
+
+			// ---- physics parameters (same keys the GUI passes to reset)
+			Map<String, Double> p = new HashMap<>();
+			for (String key : new String[] { "m", "k", "c", "x0", "v0", "beta",
+					"friction", "F0", "omega", "g" })
+				if (opts.containsKey(key)) p.put(key, number(opts, key));
+			p.putIfAbsent("m", 1.0);
+			p.putIfAbsent("k", 20.0);
+
+			// ---- model: a network owns worker threads, closed on the way out
+			try (SpringNetwork net = opts.containsKey("model")
+					? network(opts, p)
+					: null)
+			{
+				DataSet<double[]> data = new DataSet<>(6);
+				MassSpringSim sim = null; // null for a network model
+				SimEngine.SimModel model = net;
+				if (net == null)
+				{
+					sim = new MassSpringSim();
+					sim.setIntegrator(integrator(opts));
+					model = sim;
+				}
+				SimEngine engine = new SimEngine(model, data);
+				if (opts.containsKey("dt")) engine.setDt(number(opts, "dt"));
+				engine.setLogPolicy(logPolicy(opts));
+				if (opts.containsKey("adaptive"))
+					engine.setAdaptive(number(opts, "adaptive"));
+
+				// ---- stream rows to disk instead of keeping them in memory;
+				// only a .bin file is written from the in-memory rows
+				StreamingCsvWriter out = null;
+				File binaryOut = null;
+				// exact=true hands its rows to exactSink (none kept without
+				// out=)
+				SimEngine.SampleSink exactSink = sample -> {
+				};
+				if (opts.containsKey("out") && opts.get("out").toLowerCase()
+						.endsWith(BinaryTrace.EXTENSION))
+				{
+					binaryOut = new File(opts.get("out"));
+					exactSink = data::addSample;
+				}
+				else if (opts.containsKey("out"))
+				{
+					out = new StreamingCsvWriter(new File(opts.get("out")),
+							engine.headerWithT(), engine.headerWithT().length);
+					engine.setSink(out);
+					engine.setRecordInMemory(false);
+					exactSink = out;
+				}
+				else
+					engine.setRecordInMemory(false);
+				engine.reset(p);
+
+				// ---- run (or evaluate the closed form on the output grid)
+				if (sim == null
+						&& (flag(opts, "exact") || flag(opts, "check")))
+					throw new IllegalArgumentException("exact=true and "
+							+ "check=true need the single-mass model");
+				if (flag(opts, "exact"))
+					sampleExact(opts, sim, engine, exactSink);
+				else
+				{
+					SimEngine.BatchStats stats = opts.containsKey("steps")
+							? engine.runSteps((long) number(opts, "steps"))
+							: engine.runFor(opts.containsKey("seconds")
+									? number(opts, "seconds")
+									: 10.0);
+					System.out.println(stats);
+					if (engine.isAdaptive())
+						System.out.println(engine.stepStats());
+				}
+				if (flag(opts, "check")) printError(sim);
+
+				if (out != null)
+				{
+					out.close();
+					System.out.println("Saved " + out.file().getPath() + " ("
+							+ out.rowsAccepted() + " rows).");
+				}
+				if (binaryOut != null)
+				{
+					BinaryTrace.write(binaryOut, engine.headerWithT(), data);
+					System.out.println("Saved " + binaryOut.getPath() + " ("
+							+ data.size() + " rows).");
+				}
+			}
+		}
+		catch (IllegalArgumentException | IllegalStateException
+				| IOException ex)
+		{
+			System.err.println("Error: " + ex.getMessage());
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * exact=true: write closed-form rows at every dt (or 1/logRate) from 0
+	 * to seconds (or steps·dt) instead of integrating, handing them to sink.
+	 */
+	private static void sampleExact(Map<String, String> opts,
+			MassSpringSim sim, SimEngine engine, SimEngine.SampleSink sink)
+	{
+		double step = opts.containsKey("logRate")
+				? 1.0 / number(opts, "logRate")
+				: engine.getDt();
+		long rows = opts.containsKey("steps")
+				? (long) number(opts, "steps") + 1
+				: (long) Math.floor((opts.containsKey("seconds")
+						? number(opts, "seconds")
+						: 10.0) / step + 1e-9) + 1;
+
+		// reset() already logged the t=0 row
+		long t0 = System.nanoTime();
+		sim.sampleExact(step, step, rows - 1, sink);
+		sim.jumpTo((rows - 1) * step);
+		double wall = (System.nanoTime() - t0) / 1e9;
+		System.out.println(String.format(
+				"%d closed-form rows (%.3f s simulated) in %.3f s wall", rows,
+				(rows - 1) * step, wall));
+	}
+
+	/** check=true: final state vs the closed-form solution. */
+	private static void printError(MassSpringSim sim)
+	{
+		double[] s = new double[7];
+		double[] exact = new double[2];
+		sim.snapshotInto(s, 0);
+		sim.exactState(s[0], exact);
+		System.out.println(String.format(
+				"error vs closed form at t=%.6g: |dx| = %.3e m, |dv| = %.3e m/s",
+				s[0], Math.abs(s[1] - exact[0]), Math.abs(s[2] - exact[1])));
+	}
+
+	/** Parallel grid run over every start:end:count parameter. */
+	private static void runSweep(Map<String, String> opts) throws IOException
+	{
+		ParameterSweep sweep = new ParameterSweep();
+		for (String key : ParameterSweep.KEYS)
+		{
+			String val = opts.get(key);
+			if (val == null) continue;
+
+			String[] parts = val.split(":");
+			if (parts.length == 1)
+				sweep.setFixed(key, number(opts, key));
+			else if (parts.length == 3)
+				sweep.setRange(key, number(key, parts[0]),
+						number(key, parts[1]), (int) number(key, parts[2]));
+			else
+				throw new IllegalArgumentException(
+						"`" + key + "` must be a number or start:end:count");
+		}
+		if (opts.containsKey("dt")) sweep.setDt(number(opts, "dt"));
+		sweep.setIntegrator(integrator(opts));
+		if (opts.containsKey("seconds"))
+			sweep.setDuration(number(opts, "seconds"));
+
+		long t0 = System.nanoTime();
+		ParameterSweep.Result[] results = sweep.run();
+		double wall = (System.nanoTime() - t0) / 1e9;
+		System.out.println(String.format("%d runs in %.3f s wall", results.length,
+				wall));
+
+		if (opts.containsKey("out"))
+		{
+			File f = new File(opts.get("out"));
+			ParameterSweep.toCSV(f, results);
+			System.out.println("Saved " + f.getPath() + " (" + results.length
+					+ " rows).");
+		}
+	}
+
+	/**
+	 * model=chain|cloth: build the SpringNetwork from n, spacing, m, k, c,
+	 * with integrator= and threads= applied.
+	 */
+	private static SpringNetwork network(Map<String, String> opts,
+			Map<String, Double> p)
+	{
+		String kind = opts.get("model");
+		double spacing = opts.containsKey("spacing") ? number(opts, "spacing")
+				: 0.1;
+		if (!(spacing > 0))
+			throw new IllegalArgumentException("`spacing` must be > 0");
+		double m = p.get("m"), k = p.get("k"), c = p.getOrDefault("c", 0.0);
+
+		SpringNetwork net;
+		if (kind.equalsIgnoreCase("chain"))
+			net = SpringNetwork.chain(
+					opts.containsKey("n") ? (int) number(opts, "n") : 100,
+					spacing, m, k, c);
+		else if (kind.equalsIgnoreCase("cloth"))
+		{
+			int n = opts.containsKey("n") ? (int) number(opts, "n") : 32;
+			net = SpringNetwork.grid(n, n, spacing, m, k, c, true);
+		}
+		else
+			throw new IllegalArgumentException(
+					"unknown model `" + kind + "` (expected chain or cloth)");
+		net.setIntegrator(integrator(opts));
+		if (opts.containsKey("threads"))
+			net.setThreads((int) number(opts, "threads"));
+		System.out.println(String.format("%s: %d nodes, %d springs, %d thread(s)",
+				kind.toLowerCase(), net.size(), net.springCount(),
+				net.getThreads()));
+		return net;
+	}
+
+	// ---- Helper: integrator=name → Integrator (default semi-implicit Euler)
+	private static Integrator integrator(Map<String, String> opts)
+	{
+		return opts.containsKey("integrator")
+				? Integrator.fromKey(opts.get("integrator"))
+				: Integrator.SEMI_IMPLICIT_EULER;
+	}
+
+	// ---- Helper: logEvery / logRate / logTol → engine log policy ----
+	private static SimEngine.LogPolicy logPolicy(Map<String, String> opts)
+	{
+		if (opts.containsKey("logEvery"))
+			return SimEngine.LogPolicy
+					.everyNth((int) number(opts, "logEvery"));
+		if (opts.containsKey("logRate"))
+			return SimEngine.LogPolicy.sampleRate(number(opts, "logRate"));
+		if (opts.containsKey("logTol"))
+		{
+			double tol = number(opts, "logTol");
+			return SimEngine.LogPolicy.onChange(tol, tol, tol);
+		}
+		return SimEngine.LogPolicy.everyStep();
+	}
+
+	// ---- Helper: any parameter given as a range switches to sweep mode ----
+	private static boolean isSweep(Map<String, String> opts)
+	{
+		for (String key : ParameterSweep.KEYS)
+			if (opts.containsKey(key) && opts.get(key).contains(":"))
+				return true;
+		return false;
+	}
+
+	// ---- Helper: boolean option (true/yes/1) ----
+	private static boolean flag(Map<String, String> opts, String key)
+	{
+		String val = opts.get(key);
+		return val != null && (val.equalsIgnoreCase("true")
+				|| val.equalsIgnoreCase("yes") || val.equals("1"));
+	}
+
+	// ---- Helper: split key=value arguments into a map ----
+	private static Map<String, String> parseArgs(String[] args)
+	{
+		Map<String, String> opts = new HashMap<>();
+		for (String a : args)
+		{
+			int eq = a.indexOf('=');
+			if (eq <= 0)
+				throw new IllegalArgumentException(
+						"expected key=value, got `" + a + "`");
+			opts.put(a.substring(0, eq), a.substring(eq + 1));
+		}
+		return opts;
+	}
+
+	// ---- Helper: parse a numeric option with a clear message ----
+	private static double number(Map<String, String> opts, String key)
+	{
+		return number(key, opts.get(key));
+	}
+
+	private static double number(String key, String text)
+	{
+		try
+		{
+			return Double.parseDouble(text);
+		}
+		catch (NumberFormatException e)
+		{
+			throw new IllegalArgumentException(
+					"`" + key + "` must be a number");
+		}
+	}
+}
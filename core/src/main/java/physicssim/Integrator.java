@@ -0,0 +1,68 @@
+package physicssim;
+
+/**
+ * Lead Author(s):
+ * @author Arthur Nguyen
+ *
+ * Version/date: October 17, 2026
+ *
+ * Integrator
+ *
+ * Time-stepping schemes MassSpringSim can use (setIntegrator):
+ *  - SEMI_IMPLICIT_EULER: 1st order, symplectic; the original default.
+ *  - VELOCITY_VERLET: 2nd order, symplectic when undamped.
+ *  - RK4: classic 4th-order Runge–Kutta (not symplectic, slow energy drift).
+ *  - YOSHIDA4: 4th-order symplectic (three Verlet substeps per step).
+ *  - EXACT: closed-form propagator of the linear damped oscillator; exact
+ *    for any dt up to round-off (see LinearOscillator).
+ *  - BACKWARD_EULER: implicit, 1st order, stable for any dt (damps stiff
+ *    modes away instead of blowing up).
+ *  - IMPLICIT_MIDPOINT: implicit, 2nd order, stable for any dt and
+ *    energy-preserving when undamped.
+ * Higher orders reach a given accuracy with far larger dt; the implicit
+ * ones keep a stiff (large k/m) setup stable at frame-sized dt. Besides
+ * MassSpringSim, SpringNetwork supports SEMI_IMPLICIT_EULER and the two
+ * implicit schemes.
+ */
+
+public enum Integrator
+{
+	SEMI_IMPLICIT_EULER("euler", "Semi-implicit Euler"),
+	VELOCITY_VERLET("verlet", "Velocity Verlet"),
+	RK4("rk4", "Runge–Kutta 4"),
+	YOSHIDA4("yoshida4", "Yoshida 4 (symplectic)"),
+	EXACT("exact", "Exact (analytic)"),
+	BACKWARD_EULER("implicit", "Backward Euler (implicit)"),
+	IMPLICIT_MIDPOINT("midpoint", "Implicit midpoint");
+
+	private final String key; // short name for command lines
+	private final String label; // human-readable name for the GUI
+
+	Integrator(String key, String label)
+	{
+		this.key = key;
+		this.label = label;
+	}
+
+	/** Short name, e.g. "rk4". */
+	public String key()
+	{
+		return key;
+	}
+
+	@Override
+	public String toString()
+	{
+		return label;
+	}
+
+	/** Look up an integrator by its short name (case-insensitive). */
+	public static Integrator fromKey(String key)
+	{
+		for (Integrator i : values())
+			if (i.key.equalsIgnoreCase(key)) return i;
+		throw new IllegalArgumentException("unknown integrator `" + key
+				+ "` (expected euler, verlet, rk4, yoshida4, exact, implicit"
+				+ " or midpoint)");
+	}
+}
@@ -0,0 +1,80 @@
+package physicssim;
+
+/**
+ * Lead Author(s):
+ * @author Arthur Nguyen
+ *
+ * Version/date: October 17, 2026
+ *
+ * LinearOscillator
+ *
+ * Closed-form solution of m·x'' + c·x' + k·x = 0.
+ * With γ = c/(2m), ω0² = k/m and D = ω0² − γ²:
+ *   x(t) = e^(−γt) [ x0·C(t) + (v0 + γ·x0)·S(t) ]
+ *   v(t) = e^(−γt) [ v0·C(t) − (ω0²·x0 + γ·v0)·S(t) ]
+ * where C, S are cos(√D t), sin(√D t)/√D when underdamped (D > 0),
+ * cosh, sinh over √−D when overdamped (D < 0), and 1, t when critically
+ * damped (D = 0). A short series takes over near D = 0, so the three
+ * regimes blend smoothly.
+ */
+
+public final class LinearOscillator
+{
+	private LinearOscillator()
+	{
+	}
+
+	/**
+	 * Propagator over time t: fills out = {a, b, p, q} such that
+	 * x(t) = a·x0 + b·v0 and v(t) = p·x0 + q·v0.
+	 */
+	public static void propagator(double m, double k, double c, double t,
+			double[] out)
+	{
+		double gamma = c / (2 * m);
+		double w0sq = k / m;
+		double d = w0sq - gamma * gamma;
+		double e, cc, ss; // e^(−γt)·C(t) and e^(−γt)·S(t)
+
+		double arg = d * t * t;
+		if (Math.abs(arg) < 1e-8)
+		{
+			// near-critical: C ≈ 1 − D t²/2, S ≈ t (1 − D t²/6)
+			e = Math.exp(-gamma * t);
+			cc = e * (1 - arg / 2);
+			ss = e * t * (1 - arg / 6);
+		}
+		else if (d > 0)
+		{
+			double w = Math.sqrt(d);
+			e = Math.exp(-gamma * t);
+			cc = e * Math.cos(w * t);
+			ss = e * Math.sin(w * t) / w;
+		}
+		else
+		{
+			// overdamped: fold e^(−γt) into the exponentials so large t
+			// cannot overflow cosh/sinh
+			double s = Math.sqrt(-d);
+			double slow = Math.exp((s - gamma) * t); // s < γ: decays
+			double fast = Math.exp(-(s + gamma) * t);
+			cc = 0.5 * (slow + fast);
+			ss = 0.5 * (slow - fast) / s;
+		}
+
+		out[0] = cc + gamma * ss;
+		out[1] = ss;
+		out[2] = -w0sq * ss;
+		out[3] = cc - gamma * ss;
+	}
+
+	/** State at time t from (x0, v0): fills out = {x, v}. */
+	public static void evaluate(double m, double k, double c, double x0,
+			double v0, double t, double[] out)
+	{
+		double[] p = new double[4];
+		propagator(m, k, c, t, p);
+		out[0] = p[0] * x0 + p[1] * v0;
+		out[1] = p[2] * x0 + p[3] * v0;
+	}
+}
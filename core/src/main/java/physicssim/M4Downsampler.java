@@ -0,0 +1,278 @@
+package physicssim;
+
+import java.util.Arrays;
+
+/**
+ * Lead Author(s):
+ * @author Arthur Nguyen
+ *
+ * Version/date: October 17, 2026
+ *
+ * M4Downsampler
+ *
+ * Picks the samples worth drawing from a (possibly huge) DataSet: the
+ * time range is split into one bucket per pixel column and each bucket
+ * keeps its first and last sample plus the min and max sample of every
+ * requested column (M4). A line through just those samples is pixel-
+ * identical to one through all of them, so drawing costs O(width) no
+ * matter how many samples were logged.
+ *
+ * The selection does not rescan everything each frame: min/max of every
+ * full block of BLOCK samples is summarized once (incrementally, as the
+ * log grows), and a block that falls inside one bucket is merged from its
+ * summary. Only blocks straddling a bucket edge are read sample by
+ * sample, so a frame costs about samples/BLOCK + width·BLOCK reads.
+ * Ring-mode logs are scanned directly (their size is bounded anyway).
+ *
+ * Needs a columnar DataSet with sample times in increasing order (as
+ * SimEngine logs them). One instance per chart; not thread-safe itself,
+ * but fine to use while another thread appends to the DataSet.
+ */
+
+public final class M4Downsampler
+{
+	private static final int BLOCK = 256; // samples per summary block
+
+	private final DataSet<?> data;
+	private final int[] cols; // row columns kept (0 = first after t)
+
+	// ===== Block summaries: [block * cols.length + c] =====
+	private int blocks; // summarized blocks: samples [0, blocks·BLOCK)
+	private int generation = -1; // data.clearCount() they belong to
+	private int[] minIdx = new int[0], maxIdx = new int[0];
+	private double[] minVal = new double[0], maxVal = new double[0];
+
+	// ===== Per-select scratch =====
+	private final double[][] value; // raw value columns
+	private final double[] lo, hi; // current bucket's extremes
+	private final int[] loIdx, hiIdx;
+
+	/**
+	 * @param cols row columns to keep extremes of (0 = first value after t)
+	 */
+	public M4Downsampler(DataSet<?> data, int[] cols)
+	{
+		if (!data.isColumnar())
+			throw new IllegalArgumentException("needs a columnar DataSet");
+		this.data = data;
+		this.cols = cols.clone();
+		value = new double[cols.length][];
+		lo = new double[cols.length];
+		hi = new double[cols.length];
+		loIdx = new int[cols.length];
+		hiIdx = new int[cols.length];
+	}
+
+	/**
+	 * Index of the first sample at or after time t (size if none), with
+	 * size and head read once by the caller (DataSet.headIndex()).
+	 */
+	public static int firstAtOrAfter(DataSet<?> data, double t, int size,
+			int head)
+	{
+		int lo = 0, hi = size;
+		while (lo < hi)
+		{
+			int mid = (lo + hi) >>> 1;
+			if (data.time(mid, head) < t) lo = mid + 1;
+			else hi = mid;
+		}
+		return lo;
+	}
+
+	/** Capacity the index array needs for select(..., buckets, out). */
+	public int capacity(int buckets)
+	{
+		return buckets * (2 + 2 * cols.length);
+	}
+
+	/**
+	 * Select samples [from, to) for drawing over [t0, t1] split into
+	 * buckets pixel columns, keeping per bucket the first, last, and the
+	 * min and max of each column. Writes the indices in increasing order
+	 * into out (at least capacity(buckets) long) and returns how many.
+	 * head is the caller's DataSet.headIndex() snapshot (sample i at
+	 * head + i), so the selection indexes the same window it draws.
+	 */
+	public int select(int from, int to, int head, double t0, double t1,
+			int buckets, int[] out)
+	{
+		if (buckets < 1 || from >= to) return 0;
+
+		// ---- columns read once (sample i at head + i)
+		int size = data.size();
+		if (to > size)
+			throw new IndexOutOfBoundsException("sample " + to + " of " + size);
+		double[] time = data.column(0);
+		for (int c = 0; c < cols.length; c++)
+			value[c] = data.column(cols[c] + 1);
+		boolean ring = data.ringCapacity() > 0;
+		if (!ring) summarize(size);
+
+		double scale = t1 > t0 ? buckets / (t1 - t0) : 0;
+		int n = 0; // indices written so far
+		int bucket = -1, first = 0, last = 0;
+
+		int i = from;
+		while (i < to)
+		{
+			// whole summarized block inside one bucket: merge its summary
+			if (!ring && i % BLOCK == 0 && i + BLOCK <= to
+					&& i / BLOCK < blocks)
+			{
+				int b = bucketOf(time[i], t0, scale, buckets);
+				if (b == bucketOf(time[i + BLOCK - 1], t0, scale, buckets))
+				{
+					int s = (i / BLOCK) * cols.length;
+					if (b != bucket)
+					{
+						n = flush(bucket, first, last, out, n);
+						bucket = b;
+						first = i;
+						for (int c = 0; c < cols.length; c++)
+						{
+							lo[c] = minVal[s + c];
+							loIdx[c] = minIdx[s + c];
+							hi[c] = maxVal[s + c];
+							hiIdx[c] = maxIdx[s + c];
+						}
+					}
+					else
+						for (int c = 0; c < cols.length; c++)
+						{
+							if (minVal[s + c] < lo[c])
+							{
+								lo[c] = minVal[s + c];
+								loIdx[c] = minIdx[s + c];
+							}
+							if (maxVal[s + c] > hi[c])
+							{
+								hi[c] = maxVal[s + c];
+								hiIdx[c] = maxIdx[s + c];
+							}
+						}
+					last = i + BLOCK - 1;
+					i += BLOCK;
+					continue;
+				}
+			}
+
+			// single sample
+			int p = head + i;
+			if (p >= size) p -= size;
+			int b = bucketOf(time[p], t0, scale, buckets);
+			if (b != bucket)
+			{
+				n = flush(bucket, first, last, out, n);
+				bucket = b;
+				first = i;
+				for (int c = 0; c < cols.length; c++)
+				{
+					lo[c] = hi[c] = value[c][p];
+					loIdx[c] = hiIdx[c] = i;
+				}
+			}
+			else
+				for (int c = 0; c < cols.length; c++)
+				{
+					double v = value[c][p];
+					if (v < lo[c])
+					{
+						lo[c] = v;
+						loIdx[c] = i;
+					}
+					else if (v > hi[c])
+					{
+						hi[c] = v;
+						hiIdx[c] = i;
+					}
+				}
+			last = i;
+			i++;
+		}
+		return flush(bucket, first, last, out, n);
+	}
+
+	// ---- Pixel column of time t, clamped to [0, buckets) ----
+	private static int bucketOf(double t, double t0, double scale,
+			int buckets)
+	{
+		int b = (int) ((t - t0) * scale);
+		return b < 0 ? 0 : b >= buckets ? buckets - 1 : b;
+	}
+
+	/**
+	 * Write the open bucket's first, last and extreme indices to out[n..]
+	 * in increasing order without duplicates. Returns the new fill level.
+	 */
+	private int flush(int bucket, int first, int last, int[] out, int n)
+	{
+		if (bucket < 0) return n; // no bucket open yet
+		int start = n;
+		out[n++] = first;
+		out[n++] = last;
+		for (int c = 0; c < cols.length; c++)
+		{
+			out[n++] = loIdx[c];
+			out[n++] = hiIdx[c];
+		}
+
+		// insertion sort: at most 2 + 2·cols entries
+		for (int i = start + 1; i < n; i++)
+		{
+			int v = out[i], j = i - 1;
+			while (j >= start && out[j] > v)
+			{
+				out[j + 1] = out[j];
+				j--;
+			}
+			out[j + 1] = v;
+		}
+		int w = start + 1;
+		for (int i = start + 1; i < n; i++)
+			if (out[i] != out[w - 1]) out[w++] = out[i];
+		return w;
+	}
+
+	/**
+	 * Bring the block summaries up to the first size samples (growing
+	 * log: sample i is at column index i). Starts over after a clear().
+	 */
+	private void summarize(int size)
+	{
+		if (generation != data.clearCount() || size < blocks * BLOCK)
+		{
+			generation = data.clearCount();
+			blocks = 0;
+		}
+		int full = size / BLOCK;
+		if (full <= blocks) return;
+
+		int need = full * cols.length;
+		if (minIdx.length < need)
+		{
+			int cap = Math.max(need, minIdx.length * 2);
+			minIdx = Arrays.copyOf(minIdx, cap);
+			maxIdx = Arrays.copyOf(maxIdx, cap);
+			minVal = Arrays.copyOf(minVal, cap);
+			maxVal = Arrays.copyOf(maxVal, cap);
+		}
+		for (int b = blocks; b < full; b++)
+			for (int c = 0; c < cols.length; c++)
+			{
+				double[] col = value[c];
+				int start = b * BLOCK, mi = start, ma = start;
+				for (int i = start + 1; i < start + BLOCK; i++)
+				{
+					if (col[i] < col[mi]) mi = i;
+					else if (col[i] > col[ma]) ma = i;
+				}
+				int s = b * cols.length + c;
+				minIdx[s] = mi;
+				maxIdx[s] = ma;
+				minVal[s] = col[mi];
+				maxVal[s] = col[ma];
+			}
+		blocks = full;
+	}
+}
@@ -0,0 +1,203 @@
+package physicssim;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.DoublePredicate;
+
+/**
+ * Lead Author(s):
+ * @author Arthur Nguyen
+ *
+ * Version/date: October 17, 2026
+ *
+ * MassSpringBatch
+ *
+ * N independent 1D mass–spring oscillators advanced together.
+ * Same physics as MassSpringSim, but stored structure-of-arrays style
+ * (one double[] per quantity) so step() is a single branch-free loop over
+ * primitive arrays that the JIT can unroll and vectorize.
+ * Implements SimEngine.SimModel so SimEngine can drive it like any model:
+ *  - snapshot() reports the "probe" oscillator (index 0 by default).
+ * ParameterSweep steps its semi-implicit Euler grids in batches.
+ */
+
+public class MassSpringBatch implements SimEngine.SimModel
+{
+
+	// ===== Per-oscillator parameters and state (parallel arrays) =====
+	private int n; // number of oscillators
+	private double[] m, k, c; // mass, spring constant, damping
+	private double[] kOverM, cOverM; // cached k/m and c/m for step()
+	private double[] x, v; // displacement (m), velocity (m/s)
+
+	// ===== Shared state =====
+	private double time; // all oscillators share one clock
+	private int probe; // oscillator reported by snapshot()
+
+	/** Create a batch of n oscillators (set up by reset(...) or set(...)). */
+	public MassSpringBatch(int n)
+	{
+		resize(n);
+	}
+
+	/**
+	 * Give every oscillator the same parameters + initial conditions and
+	 * reset the clock to t=0. Reads the same keys as MassSpringSim, plus an
+	 * optional "n" to change the batch size.
+	 */
+	@Override
+	public void reset(Map<String, Double> newParams)
+			throws IllegalArgumentException
+	{
+		if (newParams.containsKey("n"))
+		{
+			double count = newParams.get("n");
+			if (count < 1 || count != Math.rint(count))
+				throw new IllegalArgumentException("`n` must be an integer > 0");
+			resize((int) count);
+		}
+
+		double mm = mustGet(newParams, "m", d -> d > 0, "`m` must be > 0");
+		double kk = mustGet(newParams, "k", d -> d > 0, "`k` must be > 0");
+		double cc = Math.max(0.0, newParams.getOrDefault("c", 0.0));
+		double x0 = newParams.getOrDefault("x0", 0.1);
+		double v0 = newParams.getOrDefault("v0", 0.0);
+
+		for (int i = 0; i < n; i++)
+			set(i, mm, kk, cc, x0, v0);
+		time = 0.0;
+	}
+
+	/** Configure oscillator i individually (e.g. one point of a sweep). */
+	public void set(int i, double mass, double spring, double damping,
+			double x0, double v0)
+	{
+		if (!(mass > 0)) throw new IllegalArgumentException("`m` must be > 0");
+		if (!(spring > 0)) throw new IllegalArgumentException("`k` must be > 0");
+
+		m[i] = mass;
+		k[i] = spring;
+		c[i] = Math.max(0.0, damping);
+		kOverM[i] = k[i] / m[i];
+		cOverM[i] = c[i] / m[i];
+		x[i] = x0;
+		v[i] = v0;
+	}
+
+	/**
+	 * Advance every oscillator by dt seconds using semi-implicit Euler
+	 * (same update as MassSpringSim.step, one tight loop).
+	 */
+	@Override
+	public void step(double dt)
+	{
+		final double[] x = this.x, v = this.v, kOverM = this.kOverM,
+				cOverM = this.cOverM;
+		for (int i = 0; i < n; i++)
+		{
+			double vi = v[i] + (-cOverM[i] * v[i] - kOverM[i] * x[i]) * dt;
+			v[i] = vi;
+			x[i] += vi * dt;
+		}
+		time += dt;
+	}
+
+	/** Return [time, x, v, a, KE, PE, E] of the probe oscillator. */
+	@Override
+	public double[] snapshot()
+	{
+		double[] s = new double[7];
+		snapshotInto(s, 0);
+		return s;
+	}
+
+	/** Same values as snapshot(), written into dst (no allocation). */
+	@Override
+	public void snapshotInto(double[] dst, int offset)
+	{
+		int i = probe;
+		double a = -cOverM[i] * v[i] - kOverM[i] * x[i];
+		double KE = 0.5 * m[i] * v[i] * v[i];
+		double PE = 0.5 * k[i] * (x[i] * x[i]); // rounded as in ForceLaw
+		dst[offset] = time;
+		dst[offset + 1] = x[i];
+		dst[offset + 2] = v[i];
+		dst[offset + 3] = a;
+		dst[offset + 4] = KE;
+		dst[offset + 5] = PE;
+		dst[offset + 6] = KE + PE;
+	}
+
+	// ===== Accessors =====
+
+	/** Number of oscillators in the batch. */
+	public int size()
+	{
+		return n;
+	}
+
+	public double time()
+	{
+		return time;
+	}
+
+	public double x(int i)
+	{
+		return x[i];
+	}
+
+	public double v(int i)
+	{
+		return v[i];
+	}
+
+	/** Total mechanical energy of oscillator i. */
+	public double energy(int i)
+	{
+		return 0.5 * m[i] * v[i] * v[i] + 0.5 * k[i] * (x[i] * x[i]);
+	}
+
+	/** Sum of mechanical energy over the whole batch. */
+	public double totalEnergy()
+	{
+		double e = 0;
+		for (int i = 0; i < n; i++)
+			e += energy(i);
+		return e;
+	}
+
+	/** Choose which oscillator snapshot() reports. */
+	public void setProbe(int i)
+	{
+		if (i < 0 || i >= n)
+			throw new IndexOutOfBoundsException("probe " + i + " of " + n);
+		probe = i;
+	}
+
+	// ---- Helper: (re)allocate the parallel arrays for n oscillators ----
+	private void resize(int count)
+	{
+		if (count < 1) throw new IllegalArgumentException("`n` must be > 0");
+		n = count;
+		m = new double[n];
+		k = new double[n];
+		c = new double[n];
+		kOverM = new double[n];
+		cOverM = new double[n];
+		x = new double[n];
+		v = new double[n];
+		Arrays.fill(m, 1.0); // harmless defaults until configured
+		Arrays.fill(k, 1.0);
+		Arrays.fill(kOverM, 1.0);
+		probe = 0;
+	}
+
+	// ---- Helper: look up and validate a required double param ----
+	private static double mustGet(Map<String, Double> m, String key,
+			DoublePredicate ok, String err)
+	{
+		Double v = m.get(key);
+		if (v == null || !ok.test(v)) throw new IllegalArgumentException(err);
+		return v;
+	}
+}
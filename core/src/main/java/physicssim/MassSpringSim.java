@@ -0,0 +1,475 @@
+package physicssim;
+
+import java.util.Map;
+import java.util.function.DoublePredicate;
+
+/**
+ * Lead Author(s):
+ * @author Arthur Nguyen
+ * 
+ * Version/date: December 18, 2025
+ * 
+ * MassSpringSim
+ * 
+ * A concrete 1D mass–spring (with optional damping) simulation.
+ * Implements SimEngine.AdaptiveModel so SimEngine can drive it
+ * polymorphically, with either a fixed or an adaptive step.
+ * Responsibilities:
+ *  - Holds parameters (m, k, c) and state (x, v, time).
+ *  - Gets the force from a ForceLaw: the linear spring and damping plus
+ *    optional Duffing, Coulomb friction, drive and gravity terms (and a
+ *    custom one), so every integrator works for nonlinear springs too.
+ *  - Knows how to step the physics forward (with a selectable Integrator).
+ *  - Provides a snapshot for logging and overlay text.
+ *  - With a linear law (gravity allowed), can also jump to any time in
+ *    O(1) with the closed-form solution (jumpTo, sampleExact), which
+ *    doubles as the reference the numerical integrators are checked
+ *    against (exactState).
+ * Drawing lives in the gui module (MassSpringRenderer), so this class
+ * never touches AWT.
+ */
+
+public class MassSpringSim implements SimEngine.AdaptiveModel
+{
+
+	// ===== Physics Parameters (set by reset(...)) =====
+	private double m, k, c; // mass, spring constant, damping (>=0)
+	private double invM; // 1 / m
+	private ForceLaw law = ForceLaw.linear(1.0, 0.0); // F(t, x, v)
+	private ForceLaw accelLaw = law; // law / m: a(t, x, v)
+	private ForceLaw.Term customForce; // kept across resets (null = none)
+
+	// ===== State (changes during stepping) =====
+	private double x, v, time; // displacement (m), velocity (m/s), time (s)
+	private double x0, v0; // initial conditions (closed-form reference)
+
+	// ===== Integration =====
+	private Integrator integrator = Integrator.SEMI_IMPLICIT_EULER;
+	private final double[] exactProp = new double[4]; // EXACT propagator
+	private double exactDt = Double.NaN; // dt the propagator was built for
+	private final double[] jumpProp = new double[4]; // jumpTo/sampleExact
+
+	// Yoshida 4th-order triple-jump weights
+	private static final double Y1 = 1.0 / (2.0 - Math.cbrt(2.0));
+	private static final double Y0 = -Math.cbrt(2.0) * Y1;
+
+	/**
+	 * Initialize parameters + initial conditions; also resets the clock to t=0.
+	 * Besides m, k, c, x0, v0 reads the optional force terms "beta"
+	 * (Duffing, N/m³), "friction" (Coulomb, N), "F0" with "omega" (drive,
+	 * N and rad/s) and "g" (gravity along −x, m/s²).
+	 */
+	@Override
+	public void reset(Map<String, Double> newParams)
+			throws IllegalArgumentException
+	{
+		// Validate required positives
+		m = mustGet(newParams, "m", d -> d > 0, "`m` must be > 0");
+		k = mustGet(newParams, "k", d -> d > 0, "`k` must be > 0");
+
+		// Damping can be zero; use 0 if missing
+		c = Math.max(0.0, newParams.getOrDefault("c", 0.0));
+
+		// Force law: linear part plus any optional nonlinear terms
+		ForceLaw f = ForceLaw.linear(k, c);
+		if (newParams.containsKey("beta"))
+			f = f.withDuffing(newParams.get("beta"));
+		if (newParams.containsKey("friction"))
+			f = f.withFriction(newParams.get("friction"));
+		if (newParams.containsKey("F0"))
+			f = f.withDrive(newParams.get("F0"),
+					newParams.getOrDefault("omega", 1.0));
+		if (newParams.containsKey("g"))
+			f = f.withGravity(m, newParams.get("g"));
+		if (customForce != null) f = f.with(customForce);
+		if (integrator == Integrator.EXACT && !f.isLinear())
+			throw new IllegalArgumentException(
+					"the exact integrator needs a linear force law");
+		law = f;
+		accelLaw = f.perUnitMass(m);
+		invM = 1.0 / m;
+
+		// Initial conditions (defaults if not provided)
+		x = x0 = newParams.getOrDefault("x0", 0.1);
+		v = v0 = newParams.getOrDefault("v0", 0.0);
+
+		// Reset time (and the cached exact propagator: m, k, c changed)
+		time = 0.0;
+		exactDt = Double.NaN;
+	}
+
+	/** Choose the time-stepping scheme (takes effect on the next step). */
+	public void setIntegrator(Integrator integrator)
+	{
+		if (integrator == null)
+			throw new IllegalArgumentException("integrator must not be null");
+		if (integrator == Integrator.EXACT && !law.isLinear())
+			throw new IllegalArgumentException(
+					"the exact integrator needs a linear force law");
+		this.integrator = integrator;
+	}
+
+	/**
+	 * Add a custom force term on top of the parameters' law (null removes
+	 * it). Takes effect now and is kept by later resets.
+	 */
+	public void setCustomForce(ForceLaw.Term term)
+	{
+		if (term != null && integrator == Integrator.EXACT)
+			throw new IllegalArgumentException(
+					"the exact integrator needs a linear force law");
+		customForce = term;
+		law = law.with(term);
+		accelLaw = law.perUnitMass(m > 0 ? m : 1.0);
+	}
+
+	/** The force law in effect (rebuilt by reset). */
+	public ForceLaw getForceLaw()
+	{
+		return law;
+	}
+
+	public Integrator getIntegrator()
+	{
+		return integrator;
+	}
+
+	/** Advance physics by dt seconds with the selected integrator. */
+	@Override
+	public void step(double dt)
+	{
+		double vBefore = v;
+		switch (integrator)
+		{
+		case SEMI_IMPLICIT_EULER:
+			stepEuler(dt);
+			break;
+		case VELOCITY_VERLET:
+			stepVerlet(time, dt);
+			break;
+		case RK4:
+			stepRK4(dt);
+			break;
+		case YOSHIDA4:
+			stepVerlet(time, Y1 * dt);
+			stepVerlet(time + Y1 * dt, Y0 * dt);
+			stepVerlet(time + (Y1 + Y0) * dt, Y1 * dt);
+			break;
+		case EXACT:
+			stepExact(dt);
+			break;
+		case BACKWARD_EULER:
+			stepImplicit(dt, 1.0);
+			break;
+		case IMPLICIT_MIDPOINT:
+			stepImplicit(dt, 0.5);
+			break;
+		}
+		time += dt;
+		if (stops(vBefore, v, time, x)) v = 0.0;
+	}
+
+	/**
+	 * Stick rule for Coulomb friction: a step whose velocity changed sign
+	 * ends at rest if friction can hold the mass there. From v = 0 the law
+	 * itself keeps it still (static friction cancels the other forces), so
+	 * the mass stays put until they exceed F_c.
+	 */
+	private boolean stops(double vBefore, double vAfter, double t, double x)
+	{
+		return vBefore * vAfter < 0 && accelLaw.sticks(t, x);
+	}
+
+	// ---- Acceleration from the force law ----
+	private double accel(double t, double x, double v)
+	{
+		return accelLaw.force(t, x, v);
+	}
+
+	/**
+	 * Semi-implicit Euler:
+	 * a = F(t, x, v) / m
+	 * v <- v + a*dt
+	 * x <- x + v*dt (using the updated v)
+	 */
+	private void stepEuler(double dt)
+	{
+		double a = accel(time, x, v);
+		v += a * dt;
+		x += v * dt;
+	}
+
+	/**
+	 * Velocity Verlet (kick–drift–kick). The closing kick treats the
+	 * linear damping implicitly, v' = vHalf + dt/2·(a_rest − (c/m)·v'),
+	 * solved in closed form: that keeps the step symmetric, so it stays
+	 * second order (and Yoshida4 fourth) when c > 0. Other velocity terms
+	 * (friction, a custom term) use the half-step velocity.
+	 */
+	private void stepVerlet(double t, double dt)
+	{
+		double vHalf = v + 0.5 * dt * accel(t, x, v);
+		x += dt * vHalf;
+		double cs = accelLaw.damping(); // c / m
+		double aRest = accel(t + dt, x, vHalf) + cs * vHalf; // without c·v
+		v = (vHalf + 0.5 * dt * aRest) / (1.0 + 0.5 * dt * cs);
+	}
+
+	/** Classic RK4 on (x, v). */
+	private void stepRK4(double dt)
+	{
+		double tm = time + 0.5 * dt;
+		double k1x = v, k1v = accel(time, x, v);
+		double x2 = x + 0.5 * dt * k1x, v2 = v + 0.5 * dt * k1v;
+		double k2x = v2, k2v = accel(tm, x2, v2);
+		double x3 = x + 0.5 * dt * k2x, v3 = v + 0.5 * dt * k2v;
+		double k3x = v3, k3v = accel(tm, x3, v3);
+		double x4 = x + dt * k3x, v4 = v + dt * k3v;
+		double k4x = v4, k4v = accel(time + dt, x4, v4);
+		x += dt / 6 * (k1x + 2 * k2x + 2 * k3x + k4x);
+		v += dt / 6 * (k1v + 2 * k2v + 2 * k3v + k4v);
+	}
+
+	/**
+	 * Exact step: apply the closed-form propagator (cached per dt) about
+	 * the rest position (linear law only, checked when it is selected).
+	 */
+	private void stepExact(double dt)
+	{
+		if (dt != exactDt)
+		{
+			LinearOscillator.propagator(m, k, c, dt, exactProp);
+			exactDt = dt;
+		}
+		double xe = law.equilibrium(), dx = x - xe;
+		x = xe + exactProp[0] * dx + exactProp[1] * v;
+		v = exactProp[2] * dx + exactProp[3] * v;
+	}
+
+	/**
+	 * Implicit step, solved in closed form (the system is 2×2). With
+	 * dv = v' - v, both schemes read
+	 *   m·dv = dt·F(t + θ·dt, x + θ·dt·(v + θ·dv), v + θ·dv)
+	 *   x' = x + dt·(v + θ·dv)
+	 * θ = 1 is backward Euler, θ = 1/2 implicit midpoint. F is linearized
+	 * with the law's local stiffness and damping (exact when linear).
+	 * Stable for any dt, however stiff the spring.
+	 */
+	private void stepImplicit(double dt, double theta)
+	{
+		double h = theta * dt;
+		double ks = law.stiffness(x) * invM, cs = law.damping() * invM;
+		double dv = dt * (accel(time + h, x, v) - ks * h * v)
+				/ (1.0 + h * cs + h * h * ks);
+		x += dt * (v + theta * dv);
+		v += dv;
+	}
+
+	// Dormand–Prince 5(4) tableau (b = 5th-order weights, e = b - b*,
+	// c = stage times)
+	private static final double C2 = 1.0 / 5, C3 = 3.0 / 10, C4 = 4.0 / 5,
+			C5 = 8.0 / 9;
+	private static final double A21 = 1.0 / 5, A31 = 3.0 / 40,
+			A32 = 9.0 / 40, A41 = 44.0 / 45, A42 = -56.0 / 15, A43 = 32.0 / 9,
+			A51 = 19372.0 / 6561, A52 = -25360.0 / 2187, A53 = 64448.0 / 6561,
+			A54 = -212.0 / 729, A61 = 9017.0 / 3168, A62 = -355.0 / 33,
+			A63 = 46732.0 / 5247, A64 = 49.0 / 176, A65 = -5103.0 / 18656;
+	private static final double B1 = 35.0 / 384, B3 = 500.0 / 1113,
+			B4 = 125.0 / 192, B5 = -2187.0 / 6784, B6 = 11.0 / 84;
+	private static final double E1 = 71.0 / 57600, E3 = -71.0 / 16695,
+			E4 = 71.0 / 1920, E5 = -17253.0 / 339200, E6 = 22.0 / 525,
+			E7 = -1.0 / 40;
+
+	/**
+	 * One embedded Dormand–Prince 5(4) step of h (ignores the selected
+	 * Integrator). The error of x and v is scaled by tol·(1 + |value|)
+	 * and the larger of the two is returned; the 5th-order result is
+	 * kept only if that is <= 1. Friction stops the mass as in step().
+	 */
+	@Override
+	public double tryStep(double h, double tol)
+	{
+		double t = time;
+		double k1x = v, k1v = accel(t, x, v);
+		if (landsAtRest(h, tol, k1v)) return 0.0;
+		double xs = x + h * (A21 * k1x), vs = v + h * (A21 * k1v);
+		double k2x = vs, k2v = accel(t + C2 * h, xs, vs);
+		xs = x + h * (A31 * k1x + A32 * k2x);
+		vs = v + h * (A31 * k1v + A32 * k2v);
+		double k3x = vs, k3v = accel(t + C3 * h, xs, vs);
+		xs = x + h * (A41 * k1x + A42 * k2x + A43 * k3x);
+		vs = v + h * (A41 * k1v + A42 * k2v + A43 * k3v);
+		double k4x = vs, k4v = accel(t + C4 * h, xs, vs);
+		xs = x + h * (A51 * k1x + A52 * k2x + A53 * k3x + A54 * k4x);
+		vs = v + h * (A51 * k1v + A52 * k2v + A53 * k3v + A54 * k4v);
+		double k5x = vs, k5v = accel(t + C5 * h, xs, vs);
+		xs = x + h * (A61 * k1x + A62 * k2x + A63 * k3x + A64 * k4x
+				+ A65 * k5x);
+		vs = v + h * (A61 * k1v + A62 * k2v + A63 * k3v + A64 * k4v
+				+ A65 * k5v);
+		double k6x = vs, k6v = accel(t + h, xs, vs);
+		double nx = x + h * (B1 * k1x + B3 * k3x + B4 * k4x + B5 * k5x
+				+ B6 * k6x);
+		double nv = v + h * (B1 * k1v + B3 * k3v + B4 * k4v + B5 * k5v
+				+ B6 * k6v);
+		double k7x = nv, k7v = accel(t + h, nx, nv);
+
+		double ex = h * (E1 * k1x + E3 * k3x + E4 * k4x + E5 * k5x + E6 * k6x
+				+ E7 * k7x);
+		double ev = h * (E1 * k1v + E3 * k3v + E4 * k4v + E5 * k5v + E6 * k6v
+				+ E7 * k7v);
+		double err = Math.max(
+				Math.abs(ex) / (tol * (1 + Math.max(Math.abs(x), Math.abs(nx)))),
+				Math.abs(ev) / (tol * (1 + Math.max(Math.abs(v), Math.abs(nv)))));
+		if (err <= 1)
+		{
+			x = nx;
+			v = stops(v, nv, t + h, nx) ? 0.0 : nv;
+			time += h;
+		}
+		return err;
+	}
+
+	/**
+	 * Adaptive stick rule: if friction brings the mass to rest within h
+	 * (at the current deceleration a) and the stop moves it by no more
+	 * than the tolerance, end the step at rest there. Stepping across the
+	 * stop would put the kink of −F_c·sign(v) inside the step, and the
+	 * controller would keep shrinking h around it.
+	 */
+	private boolean landsAtRest(double h, double tol, double a)
+	{
+		if (v == 0.0 || a * v >= 0.0) return false;
+		double tau = -v / a, dx = 0.5 * v * tau;
+		if (tau > h || Math.abs(dx) > tol * (1 + Math.abs(x))
+				|| !accelLaw.sticks(time + tau, x + dx))
+			return false;
+		x += dx;
+		v = 0.0;
+		time += h;
+		return true;
+	}
+
+	// ===== Closed-form evaluation (O(1) in the time span) =====
+
+	/**
+	 * Jump to time t without stepping: the current state is carried over
+	 * t - time(now) by the exact propagator (t may also lie in the past).
+	 */
+	public void jumpTo(double t)
+	{
+		requireLinear();
+		LinearOscillator.propagator(m, k, c, t - time, jumpProp);
+		double xe = law.equilibrium(), dx = x - xe;
+		x = xe + jumpProp[0] * dx + jumpProp[1] * v;
+		v = jumpProp[2] * dx + jumpProp[3] * v;
+		time = t;
+	}
+
+	/**
+	 * Exact state at time t of the run started by the last reset(),
+	 * independent of the integrator: fills out = {x, v}.
+	 */
+	public void exactState(double t, double[] out)
+	{
+		requireLinear();
+		LinearOscillator.propagator(m, k, c, t, jumpProp);
+		double xe = law.equilibrium(), dx = x0 - xe;
+		out[0] = xe + jumpProp[0] * dx + jumpProp[1] * v0;
+		out[1] = jumpProp[2] * dx + jumpProp[3] * v0;
+	}
+
+	/**
+	 * Exact samples [t, x, v, a, KE, PE, E] of the run started by the last
+	 * reset() at each of the given times, in order, to sink. The model's
+	 * own state is not touched. The buffer handed to sink is reused.
+	 */
+	public void sampleExact(double[] times, SimEngine.SampleSink sink)
+	{
+		requireLinear();
+		double[] s = new double[7];
+		for (double t : times)
+		{
+			exactSample(t, s);
+			sink.accept(s);
+		}
+	}
+
+	/**
+	 * Exact samples at t = start + i·step for i = 0 .. count-1 (no array
+	 * of times needed for long grids).
+	 */
+	public void sampleExact(double start, double step, long count,
+			SimEngine.SampleSink sink)
+	{
+		if (count < 0) throw new IllegalArgumentException("count must be >= 0");
+		requireLinear();
+		double[] s = new double[7];
+		for (long i = 0; i < count; i++)
+		{
+			exactSample(start + i * step, s);
+			sink.accept(s);
+		}
+	}
+
+	// ---- Helper: one closed-form [t, x, v, a, KE, PE, E] sample ----
+	private void exactSample(double t, double[] s)
+	{
+		LinearOscillator.propagator(m, k, c, t, jumpProp);
+		double xe = law.equilibrium(), dx = x0 - xe;
+		double xt = xe + jumpProp[0] * dx + jumpProp[1] * v0;
+		double vt = jumpProp[2] * dx + jumpProp[3] * v0;
+		double KE = 0.5 * m * vt * vt;
+		double PE = law.potential(xt);
+		s[0] = t;
+		s[1] = xt;
+		s[2] = vt;
+		s[3] = accel(t, xt, vt);
+		s[4] = KE;
+		s[5] = PE;
+		s[6] = KE + PE;
+	}
+
+	/** Return [time, x, v, a, KE, PE, E] for logging and on-screen text. */
+	@Override
+	public double[] snapshot()
+	{
+		double a = accel(time, x, v);
+		double KE = 0.5 * m * v * v;
+		double PE = law.potential(x);
+		return new double[] { time, x, v, a, KE, PE, KE + PE };
+	}
+
+	/** Same values as snapshot(), written into dst (no allocation). */
+	@Override
+	public void snapshotInto(double[] dst, int offset)
+	{
+		double a = accel(time, x, v);
+		double KE = 0.5 * m * v * v;
+		double PE = law.potential(x);
+		dst[offset] = time;
+		dst[offset + 1] = x;
+		dst[offset + 2] = v;
+		dst[offset + 3] = a;
+		dst[offset + 4] = KE;
+		dst[offset + 5] = PE;
+		dst[offset + 6] = KE + PE;
+	}
+
+	// ---- Helper: closed forms exist only for the linear law ----
+	private void requireLinear()
+	{
+		if (!law.isLinear())
+			throw new IllegalStateException(
+					"closed form needs a linear force law");
+	}
+
+	// ---- Helper: look up and validate a required double param ----
+	private static double mustGet(Map<String, Double> m, String key,
+			DoublePredicate ok, String err)
+	{
+		Double v = m.get(key);
+		if (v == null || !ok.test(v)) throw new IllegalArgumentException(err);
+		return v;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,373 @@
+package physicssim;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Lead Author(s):
+ * @author Arthur Nguyen
+ *
+ * Version/date: October 17, 2026
+ *
+ * ParameterSweep
+ *
+ * Runs MassSpringSim over a grid of parameters in parallel.
+ *  - Each key MassSpringSim.reset(...) reads (m, k, c, x0, v0) gets a Range
+ *    (a fixed value unless setRange(...) was called).
+ *  - run() visits the full cartesian product, splitting the runs across a
+ *    fork-join pool (all cores by default). With the default
+ *    semi-implicit Euler each task steps its runs together in one
+ *    MassSpringBatch (same update, structure-of-arrays loop); other
+ *    integrators run one MassSpringSim per grid point.
+ *  - Every run produces a Result with summary metrics: final energy, peak
+ *    displacement and settling time.
+ * Results come back in grid order, so output does not depend on scheduling.
+ */
+
+public class ParameterSweep
+{
+	/** Keys swept, in grid order (the last key varies fastest). */
+	public static final List<String> KEYS = Collections
+			.unmodifiableList(Arrays.asList("m", "k", "c", "x0", "v0"));
+
+	private static final int RUNS_PER_TASK = 64; // fork-join split threshold
+
+	// ===== Sweep configuration =====
+	private final Map<String, Range> ranges = new LinkedHashMap<>();
+	private double dt = 0.001; // physics step (s)
+	private double duration = 10.0; // simulated time per run (s)
+	private double settleTolerance = 0.02; // band as fraction of amplitude
+	private Integrator integrator = Integrator.SEMI_IMPLICIT_EULER;
+
+	/** Start with a single run at the GUI's default parameters. */
+	public ParameterSweep()
+	{
+		ranges.put("m", Range.fixed(1.0));
+		ranges.put("k", Range.fixed(20.0));
+		ranges.put("c", Range.fixed(0.0));
+		ranges.put("x0", Range.fixed(0.2));
+		ranges.put("v0", Range.fixed(0.0));
+	}
+
+	/** An inclusive, evenly spaced set of count values. */
+	public static final class Range
+	{
+		private final double start, end;
+		private final int count;
+
+		public Range(double start, double end, int count)
+		{
+			if (count < 1)
+				throw new IllegalArgumentException("count must be >= 1");
+			if (count > 1 && start == end)
+				throw new IllegalArgumentException(
+						"a range with count > 1 needs start != end");
+			this.start = start;
+			this.end = end;
+			this.count = count;
+		}
+
+		/** A single value. */
+		public static Range fixed(double value)
+		{
+			return new Range(value, value, 1);
+		}
+
+		public int count()
+		{
+			return count;
+		}
+
+		/** The i-th value (0 = start, count-1 = end). */
+		public double value(int i)
+		{
+			return count == 1 ? start
+					: start + (end - start) * i / (count - 1);
+		}
+	}
+
+	/** Summary of one run. */
+	public static final class Result
+	{
+		private final Map<String, Double> params;
+		private final double finalEnergy, peakDisplacement, settlingTime;
+
+		Result(Map<String, Double> params, double finalEnergy,
+				double peakDisplacement, double settlingTime)
+		{
+			this.params = Collections.unmodifiableMap(params);
+			this.finalEnergy = finalEnergy;
+			this.peakDisplacement = peakDisplacement;
+			this.settlingTime = settlingTime;
+		}
+
+		/** The parameters this run was reset with. */
+		public Map<String, Double> params()
+		{
+			return params;
+		}
+
+		/** Mechanical energy E at the end of the run. */
+		public double finalEnergy()
+		{
+			return finalEnergy;
+		}
+
+		/** Largest |x| seen during the run. */
+		public double peakDisplacement()
+		{
+			return peakDisplacement;
+		}
+
+		/**
+		 * Time after which |x| stayed inside the settle band, or +Infinity
+		 * if it was still outside at the end of the run.
+		 */
+		public double settlingTime()
+		{
+			return settlingTime;
+		}
+	}
+
+	// ===== Configuration =====
+
+	/** Sweep key over count values from start to end (inclusive). */
+	public void setRange(String key, double start, double end, int count)
+	{
+		checkKey(key);
+		ranges.put(key, new Range(start, end, count));
+	}
+
+	/** Hold key at one value for every run. */
+	public void setFixed(String key, double value)
+	{
+		checkKey(key);
+		ranges.put(key, Range.fixed(value));
+	}
+
+	/** Physics step size; clamped like SimEngine.setDt. */
+	public void setDt(double dtSeconds)
+	{
+		this.dt = Math.max(1e-6, dtSeconds);
+	}
+
+	/** Time-stepping scheme used for every run. */
+	public void setIntegrator(Integrator integrator)
+	{
+		if (integrator == null)
+			throw new IllegalArgumentException("integrator must not be null");
+		this.integrator = integrator;
+	}
+
+	/** Simulated seconds per run. */
+	public void setDuration(double seconds)
+	{
+		if (!(seconds > 0))
+			throw new IllegalArgumentException("duration must be > 0");
+		this.duration = seconds;
+	}
+
+	/**
+	 * Settle band as a fraction of the initial amplitude
+	 * sqrt(x0² + m·v0²/k), e.g. 0.02 for the usual 2% criterion.
+	 */
+	public void setSettleTolerance(double fraction)
+	{
+		if (!(fraction > 0))
+			throw new IllegalArgumentException("tolerance must be > 0");
+		this.settleTolerance = fraction;
+	}
+
+	/** Number of runs in the grid. */
+	public int size()
+	{
+		long n = 1;
+		for (Range r : ranges.values())
+			n *= r.count();
+		if (n > Integer.MAX_VALUE)
+			throw new IllegalStateException("sweep has too many runs: " + n);
+		return (int) n;
+	}
+
+	/** Parameters of run index (mixed-radix decode, last key fastest). */
+	public Map<String, Double> params(int index)
+	{
+		Map<String, Double> p = new HashMap<>();
+		for (int i = KEYS.size() - 1; i >= 0; i--)
+		{
+			Range r = ranges.get(KEYS.get(i));
+			p.put(KEYS.get(i), r.value(index % r.count()));
+			index /= r.count();
+		}
+		return p;
+	}
+
+	// ===== Running =====
+
+	/** Run the whole grid on the common fork-join pool (all cores). */
+	public Result[] run()
+	{
+		return run(ForkJoinPool.commonPool());
+	}
+
+	/** Run the whole grid on the given pool; results are in grid order. */
+	public Result[] run(ForkJoinPool pool)
+	{
+		Result[] results = new Result[size()];
+		pool.invoke(new SweepTask(results, 0, results.length));
+		return results;
+	}
+
+	/**
+	 * Run grid points lo .. hi-1 into out: as one MassSpringBatch for
+	 * semi-implicit Euler (same numbers as runOne), else one by one.
+	 */
+	private void runRange(Result[] out, int lo, int hi)
+	{
+		if (integrator != Integrator.SEMI_IMPLICIT_EULER)
+		{
+			for (int i = lo; i < hi; i++)
+				out[i] = runOne(i);
+			return;
+		}
+
+		int n = hi - lo;
+		MassSpringBatch batch = new MassSpringBatch(n);
+		List<Map<String, Double>> params = new ArrayList<>(n);
+		double[] band = new double[n], peak = new double[n];
+		double[] lastOutside = new double[n];
+		for (int j = 0; j < n; j++)
+		{
+			Map<String, Double> p = params(lo + j);
+			params.add(p);
+			double m = p.get("m"), k = p.get("k");
+			double x0 = p.get("x0"), v0 = p.get("v0");
+			batch.set(j, m, k, p.get("c"), x0, v0);
+			band[j] = settleTolerance * Math.sqrt(x0 * x0 + m * v0 * v0 / k);
+			peak[j] = Math.abs(x0);
+			lastOutside[j] = Math.abs(x0) > band[j] ? 0.0 : -1.0;
+		}
+
+		long steps = (long) Math.ceil(duration / dt);
+		for (long i = 0; i < steps; i++)
+		{
+			batch.step(dt);
+			double t = batch.time();
+			for (int j = 0; j < n; j++)
+			{
+				double ax = Math.abs(batch.x(j));
+				if (ax > peak[j]) peak[j] = ax;
+				if (ax > band[j]) lastOutside[j] = t;
+			}
+		}
+
+		for (int j = 0; j < n; j++)
+			out[lo + j] = new Result(params.get(j), batch.energy(j), peak[j],
+					settling(lastOutside[j], batch.time()));
+	}
+
+	/** Run a single grid point on the calling thread. */
+	public Result runOne(int index)
+	{
+		Map<String, Double> p = params(index);
+		MassSpringSim sim = new MassSpringSim();
+		sim.setIntegrator(integrator);
+		sim.reset(p);
+
+		double m = p.get("m"), k = p.get("k");
+		double x0 = p.get("x0"), v0 = p.get("v0");
+		double band = settleTolerance * Math.sqrt(x0 * x0 + m * v0 * v0 / k);
+
+		double[] s = new double[7]; // [t, x, v, a, KE, PE, E]
+		sim.snapshotInto(s, 0);
+		double peak = Math.abs(s[1]);
+		double lastOutside = Math.abs(s[1]) > band ? 0.0 : -1.0;
+
+		long steps = (long) Math.ceil(duration / dt);
+		for (long i = 0; i < steps; i++)
+		{
+			sim.step(dt);
+			sim.snapshotInto(s, 0);
+			double ax = Math.abs(s[1]);
+			if (ax > peak) peak = ax;
+			if (ax > band) lastOutside = s[0];
+		}
+
+		return new Result(p, s[6], peak, settling(lastOutside, s[0]));
+	}
+
+	// ---- Helper: settling time from the last time outside the band ----
+	private static double settling(double lastOutside, double end)
+	{
+		if (lastOutside < 0) return 0.0; // never left the band
+		if (lastOutside >= end) return Double.POSITIVE_INFINITY;
+		return lastOutside;
+	}
+
+	/** Write one CSV row per run: parameters, then the metrics. */
+	public static void toCSV(File file, Result[] results) throws IOException
+	{
+		String[] header = new String[KEYS.size() + 3];
+		KEYS.toArray(header);
+		header[KEYS.size()] = "finalE";
+		header[KEYS.size() + 1] = "peakX";
+		header[KEYS.size() + 2] = "settlingTime";
+
+		try (FastCsvWriter out = new FastCsvWriter(file))
+		{
+			out.writeHeader(header);
+			for (Result r : results)
+			{
+				for (String key : KEYS)
+				{
+					out.writeDouble(r.params().get(key));
+					out.comma();
+				}
+				out.writeDouble(r.finalEnergy());
+				out.comma();
+				out.writeDouble(r.peakDisplacement());
+				out.comma();
+				out.writeDouble(r.settlingTime());
+				out.newLine();
+			}
+		}
+	}
+
+	// ---- Fork-join task: split the index range until it is small ----
+	private final class SweepTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final Result[] out;
+		private final int lo, hi;
+
+		SweepTask(Result[] out, int lo, int hi)
+		{
+			this.out = out;
+			this.lo = lo;
+			this.hi = hi;
+		}
+
+		@Override
+		protected void compute()
+		{
+			if (hi - lo <= RUNS_PER_TASK)
+			{
+				runRange(out, lo, hi);
+				return;
+			}
+			int mid = (lo + hi) >>> 1;
+			invokeAll(new SweepTask(out, lo, mid), new SweepTask(out, mid, hi));
+		}
+	}
+
+	// ---- Helper: only keys MassSpringSim.reset(...) understands ----
+	private static void checkKey(String key)
+	{
+		if (!KEYS.contains(key))
+			throw new IllegalArgumentException(
+					"unknown sweep key `" + key + "` (expected " + KEYS + ")");
+	}
+}
@@ -0,0 +1,915 @@
+package physicssim;
+
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lead Author(s):
+ * @author Arthur Nguyen
+ * 
+ * Version/date: December 18, 2025
+ * 
+ * SimEngine
+ * 
+ * The "timekeeper" for the app.
+ * - Drives a simulation forward at a fixed time step (dt) on its own
+ *   simulation thread, one tick per ~16 ms frame, so a busy Event Dispatch
+ *   Thread never stalls physics. Each tick publishes the state to draw
+ *   through a lock-free TripleBuffer; renderStateInto reads it, so painting
+ *   never blocks physics either.
+ *   In real-time mode each tick runs as many dt steps as the wall clock
+ *   has advanced (fixed-timestep accumulator), and the drawn state is
+ *   interpolated between the last two steps. A time scale runs it faster
+ *   (10x, 100x) or as fast as possible (unlimited) while still drawing
+ *   the latest state every frame; stepsPerSecond reports the rate.
+ *   Unlimited logs only each frame's last step, so the log grows at the
+ *   frame rate, not at millions of rows per second.
+ * - Optionally adapts the step to an error tolerance (setAdaptive) for
+ *   models that can estimate their own step error (AdaptiveModel).
+ * - Or, headless: runSteps/runFor step in a tight loop on the calling thread.
+ * - Logs each step's snapshot to a DataSet (for CSV saving) and/or a
+ *   SampleSink (e.g. streaming straight to disk); a LogPolicy can thin
+ *   that out (every Nth step, fixed sample rate, or only on change).
+ * - Exposes controls the GUI calls: start, pause, stepOnce, reset.
+ * Threading: while running, the model, DataSet and sink belong to the
+ * simulation thread. pause() waits for the thread to stop; the setters
+ * below that touch that state pause and resume around themselves. Code
+ * outside the engine (e.g. saving the DataSet) should pause first.
+ */
+
+public class SimEngine
+{
+
+	/** Contract the engine needs from any simulation model. */
+	public interface SimModel
+	{
+		void reset(java.util.Map<String, Double> p); // initialize params +
+														// state
+
+		void step(double dt); // advance physics by dt seconds
+
+		double[] snapshot(); // [t, x, v, a, KE, PE, E] for logging
+
+		/**
+		 * Allocation-free snapshot: write the same values snapshot() returns
+		 * into dst starting at offset. Models on the hot path should
+		 * override this; the default just copies snapshot().
+		 */
+		default void snapshotInto(double[] dst, int offset)
+		{
+			double[] s = snapshot();
+			System.arraycopy(s, 0, dst, offset, s.length);
+		}
+
+		// Drawing is the gui module's job (e.g. MassSpringRenderer), so
+		// models and the engine never load AWT.
+	}
+
+	/**
+	 * A model that can take an error-controlled step (e.g. an embedded
+	 * Runge–Kutta pair), so the engine can pick dt itself.
+	 */
+	public interface AdaptiveModel extends SimModel
+	{
+		/**
+		 * Try to advance by h. Returns the step's error estimate scaled by
+		 * tol: if it is <= 1 the step is kept (time advanced by h),
+		 * otherwise the state is left unchanged.
+		 */
+		double tryStep(double h, double tol);
+	}
+
+	/**
+	 * Receives every logged sample as [t, x, v, a, KE, PE, E]. The array is
+	 * reused by the engine, so sinks must copy what they keep.
+	 */
+	public interface SampleSink
+	{
+		void accept(double[] sample);
+	}
+
+	/**
+	 * Decides which steps get logged. The t=0 row after reset is always
+	 * logged and passed to reset(first) so policies can start from it.
+	 * Samples are [t, x, v, a, KE, PE, E].
+	 */
+	public interface LogPolicy
+	{
+		/** Start over; first is the (logged) t=0 sample. */
+		void reset(double[] first);
+
+		/** Whether to log this step's sample. */
+		boolean shouldLog(double[] sample);
+
+		/** Log every step (the default). */
+		static LogPolicy everyStep()
+		{
+			return new LogPolicy()
+			{
+				@Override
+				public void reset(double[] first)
+				{
+				}
+
+				@Override
+				public boolean shouldLog(double[] sample)
+				{
+					return true;
+				}
+			};
+		}
+
+		/** Log every nth step. */
+		static LogPolicy everyNth(int n)
+		{
+			if (n < 1) throw new IllegalArgumentException("n must be >= 1");
+			return new LogPolicy()
+			{
+				private int skipped;
+
+				@Override
+				public void reset(double[] first)
+				{
+					skipped = 0;
+				}
+
+				@Override
+				public boolean shouldLog(double[] sample)
+				{
+					if (++skipped < n) return false;
+					skipped = 0;
+					return true;
+				}
+			};
+		}
+
+		/**
+		 * Log at a fixed output rate (samples per simulated second),
+		 * independent of dt: the first step at or after each multiple of
+		 * 1/hz is logged.
+		 */
+		static LogPolicy sampleRate(double hz)
+		{
+			if (!(hz > 0)) throw new IllegalArgumentException("hz must be > 0");
+			double period = 1.0 / hz;
+			double slack = period * 1e-6; // absorbs round-off in t
+			return new LogPolicy()
+			{
+				private double start;
+				private long next; // index of the next output time
+
+				@Override
+				public void reset(double[] first)
+				{
+					start = first[0];
+					next = 1;
+				}
+
+				@Override
+				public boolean shouldLog(double[] sample)
+				{
+					double t = sample[0] - start + slack;
+					if (t < next * period) return false;
+					next = (long) Math.floor(t / period) + 1;
+					return true;
+				}
+			};
+		}
+
+		/**
+		 * Log only when x, v or E moved by more than its tolerance since the
+		 * last logged sample.
+		 */
+		static LogPolicy onChange(double tolX, double tolV, double tolE)
+		{
+			if (tolX < 0 || tolV < 0 || tolE < 0)
+				throw new IllegalArgumentException("tolerances must be >= 0");
+			return new LogPolicy()
+			{
+				private double x, v, e; // last logged values
+
+				@Override
+				public void reset(double[] first)
+				{
+					x = first[1];
+					v = first[2];
+					e = first[6];
+				}
+
+				@Override
+				public boolean shouldLog(double[] s)
+				{
+					if (Math.abs(s[1] - x) <= tolX && Math.abs(s[2] - v) <= tolV
+							&& Math.abs(s[6] - e) <= tolE)
+						return false;
+					x = s[1];
+					v = s[2];
+					e = s[6];
+					return true;
+				}
+			};
+		}
+	}
+
+	// ===== Engine State =====
+	private final SimModel sim; // the model currently driven by the engine
+	private final DataSet<double[]> data; // the time-series "notebook" for
+											// logged results
+	private final String[] header = { "t", "x", "v", "a", "KE", "PE", "E" }; // CSV
+																				// header
+																				// convenience
+
+	private final double[] sample = new double[header.length]; // log() buffer
+
+	private SampleSink sink; // optional extra consumer of logged samples
+	private boolean recordInMemory = true; // also keep samples in data?
+	private LogPolicy logPolicy = LogPolicy.everyStep(); // which steps to log
+
+	private static final long FRAME_NANOS = 16_000_000L; // tick period
+	private Thread loop; // simulation thread while running
+	private volatile boolean running = false; // whether the engine is
+												// advancing continuously
+	private volatile Throwable lastError; // what stopped the sim thread
+	private volatile double dt = 0.016; // physics time step in seconds
+	private final TripleBuffer frames = new TripleBuffer(header.length);
+	private final double[] frameState = new double[header.length];
+
+	// ===== Real-time pacing (accumulator on System.nanoTime) =====
+	private boolean realTime = false; // false: one dt per tick
+	private volatile int maxStepsPerFrame = 5000; // cap so a slow frame
+													// can't spiral
+	private volatile double timeScale = 1.0; // sim s per wall s (∞: max)
+	private long lastTickNanos; // wall clock at the previous tick
+	private double accumulator; // wall seconds not yet simulated
+	private final double[] prevSample = new double[header.length];
+	private boolean interpolate; // prevSample/sample bracket the frame
+
+	// ===== Adaptive stepping (off while tolerance == 0) =====
+	private static final double SAFETY = 0.9; // step-size controller
+	private static final double MIN_SCALE = 0.2, MAX_SCALE = 5.0;
+	private static final double MIN_ADAPTIVE_DT = 1e-12;
+	private double tolerance = 0; // error per step for AdaptiveModel
+	private double nextDt; // controller's proposal for the next step
+	private final StepStats stepStats = new StepStats();
+
+	// ===== Throughput (counted on the simulation thread) =====
+	private static final long RATE_WINDOW_NANOS = 500_000_000L;
+	private long stepCount; // steps taken by ticks since start()
+	private volatile double stepsPerSecond; // over the last rate window
+
+	/** Wire up engine with a simulation model and a dataset to log into. */
+	public SimEngine(SimModel sim, DataSet<double[]> dataset)
+	{
+		this.sim = sim;
+		this.data = dataset;
+	}
+
+	/**
+	 * Change the physics step size; clamped to a minimum (>0) to remain valid.
+	 */
+	public void setDt(double dtSeconds)
+	{
+		double d = Math.max(1e-6, dtSeconds);
+		whilePaused(() -> {
+			this.dt = d;
+			nextDt = d; // adaptive: new first trial step
+		});
+	}
+
+	/**
+	 * Real time: each timer tick advances the simulation by the wall time
+	 * since the last tick (whole dt steps, at most maxStepsPerFrame; the
+	 * rest carries over). Off: one dt per tick, as before.
+	 */
+	public void setRealTime(boolean realTime)
+	{
+		whilePaused(() -> {
+			this.realTime = realTime;
+			interpolate = false;
+		});
+	}
+
+	public boolean isRealTime()
+	{
+		return realTime;
+	}
+
+	/**
+	 * Real-time speed: simulated seconds per wall-clock second, e.g. 10 or
+	 * 100. Double.POSITIVE_INFINITY runs as many steps as fit in each frame
+	 * (unlimited), logging one sample per frame (its last step) instead of
+	 * every step. Takes effect on the next tick.
+	 */
+	public void setTimeScale(double scale)
+	{
+		if (!(scale > 0))
+			throw new IllegalArgumentException("time scale must be > 0");
+		this.timeScale = scale;
+	}
+
+	public double getTimeScale()
+	{
+		return timeScale;
+	}
+
+	/**
+	 * Steps per wall-clock second the simulation thread achieved recently
+	 * (updated about twice a second while running).
+	 */
+	public double stepsPerSecond()
+	{
+		return stepsPerSecond;
+	}
+
+	/**
+	 * Most dt steps one real-time tick may run; time beyond that is
+	 * dropped, so the simulation slows down instead of falling ever
+	 * further behind.
+	 */
+	public void setMaxStepsPerFrame(int maxSteps)
+	{
+		if (maxSteps < 1)
+			throw new IllegalArgumentException("maxSteps must be >= 1");
+		this.maxStepsPerFrame = maxSteps;
+	}
+
+	/**
+	 * Error-controlled stepping: each step's size is chosen so the model's
+	 * error estimate stays within tolerance (0 = back to the fixed dt).
+	 * Takes effect now, with dt as the next trial step. Needs an
+	 * AdaptiveModel.
+	 */
+	public void setAdaptive(double tolerance)
+	{
+		if (!(tolerance >= 0))
+			throw new IllegalArgumentException("tolerance must be >= 0");
+		if (tolerance > 0 && !(sim instanceof AdaptiveModel))
+			throw new IllegalStateException(
+					"model does not support adaptive stepping");
+		whilePaused(() -> {
+			this.tolerance = tolerance;
+			nextDt = dt;
+		});
+	}
+
+	public boolean isAdaptive()
+	{
+		return tolerance > 0;
+	}
+
+	/**
+	 * Also send every logged sample to sink (e.g. a StreamingCsvWriter);
+	 * null detaches it.
+	 */
+	public void setSink(SampleSink sink)
+	{
+		whilePaused(() -> this.sink = sink);
+	}
+
+	/**
+	 * Whether logged samples are kept in the DataSet. Turn off while a sink
+	 * streams them elsewhere to keep memory constant on long runs.
+	 */
+	public void setRecordInMemory(boolean record)
+	{
+		whilePaused(() -> this.recordInMemory = record);
+	}
+
+	/**
+	 * Choose which steps are logged (null = every step). Takes effect from
+	 * the next reset().
+	 */
+	public void setLogPolicy(LogPolicy policy)
+	{
+		LogPolicy p = policy != null ? policy : LogPolicy.everyStep();
+		whilePaused(() -> this.logPolicy = p);
+	}
+
+	/**
+	 * Reset the simulation with new parameters from the GUI.
+	 * Clears any old logs and records the initial (t=0) snapshot.
+	 */
+	public void reset(Map<String, Double> params)
+	{
+		whilePaused(() -> resetNow(params));
+	}
+
+	private void resetNow(Map<String, Double> params)
+	{
+		sim.reset(params);
+		data.clear();
+		nextDt = dt;
+		stepStats.clear();
+		accumulator = 0;
+		interpolate = false;
+		sim.snapshotInto(sample, 0);
+		logPolicy.reset(sample);
+		record(); // capture t=0 row
+	}
+
+	/**
+	 * Begin continuous stepping (animation) on a new daemon simulation
+	 * thread.
+	 */
+	public void start()
+	{
+		if (!running)
+		{
+			running = true;
+			lastError = null;
+			accumulator = 0;
+			lastTickNanos = System.nanoTime();
+			renderState(frameState);
+			frames.publish(frameState); // first frame before the first tick
+			loop = new Thread(this::runLoop, "sim-loop");
+			loop.setDaemon(true);
+			loop.start();
+		}
+	}
+
+	/**
+	 * Stop continuous stepping (freeze the state). Returns once the
+	 * simulation thread has finished its current tick and exited.
+	 */
+	public void pause()
+	{
+		if (running)
+		{
+			running = false;
+			LockSupport.unpark(loop);
+			boolean interrupted = false;
+			while (loop.isAlive())
+			{
+				try
+				{
+					loop.join();
+				}
+				catch (InterruptedException e)
+				{
+					interrupted = true; // keep waiting; re-flag below
+				}
+			}
+			if (interrupted) Thread.currentThread().interrupt();
+			loop = null;
+			interpolate = false; // show the state the model is really in
+		}
+	}
+
+	// ---- Run action with the simulation thread stopped, then resume ----
+	private void whilePaused(Runnable action)
+	{
+		boolean wasRunning = running;
+		pause();
+		try
+		{
+			action.run();
+		}
+		finally
+		{
+			if (wasRunning) start();
+		}
+	}
+
+	/**
+	 * Simulation thread: one tick per frame period, then publish the state
+	 * to draw. Sleeps out the rest of the frame; a late frame does not try
+	 * to catch up (real-time mode measures the gap itself).
+	 */
+	private void runLoop()
+	{
+		try
+		{
+			long next = System.nanoTime();
+			long rateStart = next, rateSteps = stepCount = 0;
+			stepsPerSecond = 0;
+			while (running)
+			{
+				tick();
+				renderState(frameState);
+				frames.publish(frameState);
+
+				long now = System.nanoTime();
+				if (now - rateStart >= RATE_WINDOW_NANOS)
+				{
+					stepsPerSecond = (stepCount - rateSteps) * 1e9
+							/ (now - rateStart);
+					rateStart = now;
+					rateSteps = stepCount;
+				}
+
+				next += FRAME_NANOS;
+				long wait = next - System.nanoTime();
+				if (wait > 0) LockSupport.parkNanos(this, wait);
+				else next = System.nanoTime();
+			}
+		}
+		catch (RuntimeException | Error ex)
+		{
+			lastError = ex; // for the GUI: the thread has no one to tell
+			throw ex;
+		}
+		finally
+		{
+			running = false; // also when tick() throws
+		}
+	}
+
+	/**
+	 * The exception that stopped the simulation thread since the last
+	 * start() (e.g. an adaptive step underflow), or null. The engine is
+	 * then no longer running; the model is left as the failed tick left it.
+	 */
+	public Throwable lastError()
+	{
+		return lastError;
+	}
+
+	/**
+	 * Single-step when paused (advance exactly once by dt and log it).
+	 * The GUI can repaint right after to show the new state.
+	 */
+	public void stepOnce()
+	{
+		if (running) return; // only step if paused
+		advance(Double.POSITIVE_INFINITY);
+		log();
+	}
+
+	/**
+	 * Headless batch mode: advance n steps of dt (or n accepted adaptive
+	 * steps) in a tight loop on the calling thread (no Timer, no EDT),
+	 * logging per the log policy.
+	 * 
+	 * @return timing stats, including achieved steps per second.
+	 */
+	public BatchStats runSteps(long n)
+	{
+		if (running)
+			throw new IllegalStateException("pause the engine before a batch run");
+		if (n < 0) throw new IllegalArgumentException("n must be >= 0");
+
+		long t0 = System.nanoTime();
+		double simSeconds = 0;
+		if (!isAdaptive())
+		{
+			for (long i = 0; i < n; i++)
+			{
+				sim.step(dt);
+				log();
+			}
+			simSeconds = n * dt;
+		}
+		else
+		{
+			for (long i = 0; i < n; i++)
+			{
+				simSeconds += advance(Double.POSITIVE_INFINITY);
+				log();
+			}
+		}
+		return new BatchStats(n, simSeconds, System.nanoTime() - t0);
+	}
+
+	/**
+	 * Headless batch mode: advance by (at least) the given simulated duration,
+	 * i.e. ceil(seconds / dt) steps. Adaptive runs end exactly on it.
+	 */
+	public BatchStats runFor(double seconds)
+	{
+		if (!(seconds >= 0))
+			throw new IllegalArgumentException("duration must be >= 0");
+		if (!isAdaptive()) return runSteps((long) Math.ceil(seconds / dt));
+		if (running)
+			throw new IllegalStateException("pause the engine before a batch run");
+
+		long t0 = System.nanoTime();
+		long n = advanceBy(seconds);
+		return new BatchStats(n, seconds, System.nanoTime() - t0);
+	}
+
+	/**
+	 * Adaptive mode: accepted/rejected step counts and step sizes since
+	 * reset() (all zero in fixed-dt mode).
+	 */
+	public StepStats stepStats()
+	{
+		return stepStats;
+	}
+
+	/**
+	 * Adaptive step counters: steps the error check accepted and rejected,
+	 * and the range of accepted step sizes.
+	 */
+	public static final class StepStats
+	{
+		private long accepted, rejected;
+		private double minDt, maxDt, lastDt;
+
+		private void clear()
+		{
+			accepted = rejected = 0;
+			minDt = Double.POSITIVE_INFINITY;
+			maxDt = lastDt = 0;
+		}
+
+		private void reject()
+		{
+			rejected++;
+		}
+
+		private void accept(double h)
+		{
+			accepted++;
+			lastDt = h;
+			if (h < minDt) minDt = h;
+			if (h > maxDt) maxDt = h;
+		}
+
+		public long accepted()
+		{
+			return accepted;
+		}
+
+		public long rejected()
+		{
+			return rejected;
+		}
+
+		/** Smallest step taken (NaN before the first step). */
+		public double minDt()
+		{
+			return accepted == 0 ? Double.NaN : minDt;
+		}
+
+		public double maxDt()
+		{
+			return accepted == 0 ? Double.NaN : maxDt;
+		}
+
+		public double lastDt()
+		{
+			return accepted == 0 ? Double.NaN : lastDt;
+		}
+
+		@Override
+		public String toString()
+		{
+			return String.format("%d accepted, %d rejected steps; dt %.3g .. %.3g s",
+					accepted, rejected, minDt(), maxDt());
+		}
+	}
+
+	/** Result of a headless batch run. */
+	public static final class BatchStats
+	{
+		private final long steps;
+		private final double simSeconds;
+		private final long elapsedNanos;
+
+		BatchStats(long steps, double simSeconds, long elapsedNanos)
+		{
+			this.steps = steps;
+			this.simSeconds = simSeconds;
+			this.elapsedNanos = elapsedNanos;
+		}
+
+		public long steps()
+		{
+			return steps;
+		}
+
+		/** Simulated time covered by the run. */
+		public double simSeconds()
+		{
+			return simSeconds;
+		}
+
+		/** Wall-clock time the run took. */
+		public double wallSeconds()
+		{
+			return elapsedNanos / 1e9;
+		}
+
+		public double stepsPerSecond()
+		{
+			return elapsedNanos == 0 ? 0 : steps / wallSeconds();
+		}
+
+		@Override
+		public String toString()
+		{
+			return String.format("%d steps (%.3f s simulated) in %.3f s wall"
+					+ " = %.0f steps/s", steps, simSeconds, wallSeconds(),
+					stepsPerSecond());
+		}
+	}
+
+	/**
+	 * State to draw, [t, x, v, a, KE, PE, E], written into dst. In real-time
+	 * mode this is interpolated between the last two steps by the fraction
+	 * of dt left in the accumulator, so motion stays smooth when the frame
+	 * rate and dt don't line up (it trails the model by under one dt).
+	 */
+	public void renderStateInto(double[] dst)
+	{
+		if (running)
+		{
+			frames.read(dst); // latest frame from the simulation thread
+			return;
+		}
+		renderState(dst);
+	}
+
+	// ---- Current (or interpolated) state; owner thread only ----
+	private void renderState(double[] dst)
+	{
+		if (!interpolate)
+		{
+			sim.snapshotInto(dst, 0);
+			return;
+		}
+		double alpha = Math.min(1.0, accumulator / dt);
+		for (int i = 0; i < sample.length; i++)
+			dst[i] = prevSample[i] + alpha * (sample[i] - prevSample[i]);
+	}
+
+	/**
+	 * Frame callback on the simulation thread: advance physics and log.
+	 * Rendering is the GUI's job. Adaptive mode covers dt (or, in real
+	 * time, the elapsed wall time) of simulated time in as many steps as
+	 * the error control needs.
+	 */
+	private void tick()
+	{
+		double dt = this.dt; // one value for the whole frame
+		int cap = maxStepsPerFrame;
+		if (!realTime)
+		{
+			if (isAdaptive()) stepCount += advanceBy(dt);
+			else
+			{
+				sim.step(dt);
+				log();
+				stepCount++;
+			}
+			return;
+		}
+
+		long now = System.nanoTime();
+		double scale = timeScale;
+		if (scale == Double.POSITIVE_INFINITY)
+		{
+			runUntil(now + FRAME_NANOS);
+			lastTickNanos = now;
+			return;
+		}
+		accumulator += (now - lastTickNanos) / 1e9 * scale;
+		lastTickNanos = now;
+		if (isAdaptive())
+		{
+			// the adaptive clock lands exactly on wall time; just bound
+			// how much a stalled frame may catch up
+			stepCount += advanceBy(Math.min(accumulator, cap * dt));
+			accumulator = 0;
+			return;
+		}
+
+		int n = 0;
+		while (accumulator >= dt && n < cap)
+		{
+			System.arraycopy(sample, 0, prevSample, 0, sample.length);
+			sim.step(dt);
+			log();
+			accumulator -= dt;
+			n++;
+		}
+		if (n == cap) accumulator = Math.min(accumulator, dt);
+		if (n > 0) interpolate = true;
+		stepCount += n;
+	}
+
+	/**
+	 * Unlimited speed: step until the frame's deadline, checking the clock
+	 * only every few steps, then log the frame's last step (logging every
+	 * step would fill the DataSet at the full step rate). Nothing to
+	 * interpolate.
+	 */
+	private void runUntil(long deadline)
+	{
+		do
+		{
+			for (int i = 0; i < 64; i++)
+				advance(Double.POSITIVE_INFINITY);
+			stepCount += 64;
+		}
+		while (running && System.nanoTime() - deadline < 0);
+		log();
+		accumulator = 0;
+		interpolate = false;
+	}
+
+	/**
+	 * Take one step: dt, or in adaptive mode the controller's proposal
+	 * (at most limit), retrying with smaller steps until the error check
+	 * passes. Returns the step size taken. Throws IllegalStateException
+	 * once the step would drop below MIN_ADAPTIVE_DT (e.g. the state blew
+	 * up and every error estimate is NaN).
+	 */
+	private double advance(double limit)
+	{
+		if (!isAdaptive())
+		{
+			sim.step(dt);
+			return dt;
+		}
+
+		AdaptiveModel model = (AdaptiveModel) sim;
+		boolean clipped = limit < nextDt;
+		double h = clipped ? limit : nextDt;
+		while (true)
+		{
+			double err = model.tryStep(h, tolerance);
+			// NaN or ∞ (the trial overflowed): reject and shrink hard; if
+			// the state itself diverged, h underflows below and we throw
+			double scale = !(err < Double.POSITIVE_INFINITY) ? MIN_SCALE
+					: err == 0 ? MAX_SCALE
+							: Math.min(MAX_SCALE, Math.max(MIN_SCALE,
+									SAFETY * Math.pow(err, -0.2)));
+			if (err <= 1)
+			{
+				stepStats.accept(h);
+				// a step clipped to limit says nothing about the next one
+				if (!clipped || h * scale > nextDt) nextDt = h * scale;
+				return h;
+			}
+			stepStats.reject();
+			clipped = false;
+			h *= Math.min(scale, SAFETY);
+			if (!(h >= MIN_ADAPTIVE_DT)) // also catches a NaN step
+				throw new IllegalStateException(
+						"adaptive step size underflow at tolerance " + tolerance
+								+ " (last error estimate " + err + ")");
+		}
+	}
+
+	/**
+	 * Adaptive mode: advance exactly the given simulated time (last step
+	 * clipped), logging each step. Returns the number of steps.
+	 */
+	private long advanceBy(double seconds)
+	{
+		long n = 0;
+		double left = seconds;
+		while (left > seconds * 1e-12)
+		{
+			left -= advance(left);
+			log();
+			n++;
+		}
+		return n;
+	}
+
+	/**
+	 * Append the latest snapshot to the dataset (time in one column, rest as a
+	 * row) if the log policy wants it. Writes through a reused buffer, so a
+	 * columnar DataSet logs with no allocation per step.
+	 */
+	private void log()
+	{
+		sim.snapshotInto(sample, 0); // [t, x, v, a, KE, PE, E]
+		if (logPolicy.shouldLog(sample)) record();
+	}
+
+	// ---- Hand the current sample to the dataset and/or sink ----
+	private void record()
+	{
+		if (recordInMemory) data.addSample(sample); // time + row columns
+		if (sink != null) sink.accept(sample);
+	}
+
+	// ===== Small accessors used by the GUI =====
+	public DataSet<double[]> dataset()
+	{
+		return data;
+	}
+
+	public String[] headerWithT()
+	{
+		return header;
+	}
+
+	public boolean isRunning()
+	{
+		return running;
+	}
+
+	public double getDt()
+	{
+		return dt;
+	}
+
+	public SimModel simulation()
+	{
+		return sim;
+	}
+}
\ No newline at end of file
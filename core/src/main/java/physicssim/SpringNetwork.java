@@ -0,0 +1,934 @@
+package physicssim;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Lead Author(s):
+ * @author Arthur Nguyen
+ *
+ * Version/date: October 17, 2026
+ *
+ * SpringNetwork
+ *
+ * Many point masses in the plane joined by damped springs: an N-mass
+ * chain, a cloth or lattice, or any graph put together with Builder.
+ * Every spring (edge) has its own stiffness k, damping c (along the
+ * spring) and rest length; nodes have their own mass and can be pinned.
+ *
+ * Storage is flat primitive arrays: positions, velocities and forces one
+ * double[] per component, and the springs in CSR form—node i's springs
+ * are entries rowStart[i] .. rowStart[i+1] of the edge arrays, each
+ * spring listed once under both of its ends. The force pass walks node by
+ * node and only gathers into the node's own slot, so one step costs
+ * O(edges) with sequential reads and never writes to another node.
+ *
+ * setThreads(n) splits each step over a WorkerPool: nodes are cut into
+ * BLOCK-sized blocks, each worker owns a contiguous run of blocks (about
+ * equal in springs), integrates them, and after a barrier gathers their
+ * forces. Since every node's force is written by its owner only, no
+ * locking, colouring or per-thread force buffers are needed. Energies
+ * are summed per block and then over blocks in order, so the result is
+ * bit-for-bit the same for any thread count. The pool threads live until
+ * close() (or setThreads(1)), so open networks in try-with-resources.
+ *
+ * step() is semi-implicit Euler by default, like MassSpringSim. For stiff
+ * springs setIntegrator offers backward Euler and implicit midpoint,
+ * linearized once per step (one Newton iteration): the spring Jacobian is
+ * built per CSR entry and the resulting sparse SPD system is solved by
+ * Jacobi-preconditioned Conjugate Gradient, matrix-free, warm-started
+ * from the previous step's solution, with every work vector allocated
+ * once. Its passes run on the same workers and block partials as above.
+ *
+ * Forces for the current state are kept from the previous step (or
+ * reset), so the energies reported by snapshot() belong to the same
+ * instant as x and v.
+ * snapshot() follows the usual [t, x, v, a, KE, PE, E] layout: x, v and a
+ * are the x-components of the probe node (x as displacement from where it
+ * was built), the energies are totals over the whole network.
+ */
+
+public class SpringNetwork implements SimEngine.SimModel, AutoCloseable
+{
+	private static final int BLOCK = 1024; // nodes per energy/work block
+
+	// ===== Step phases, each run over a range of blocks =====
+	private static final int INTEGRATE = 0, FORCES = 1, JACOBIAN = 2,
+			DIRECTION = 3, MATVEC = 4, UPDATE = 5;
+
+	// ===== Nodes (parallel arrays, index = node) =====
+	private final int n;
+	private final double[] x, y, vx, vy; // position (m), velocity (m/s)
+	private final double[] fx, fy; // force on the current state (N)
+	private final double[] mass, invMass; // invMass 0 = pinned
+	private final double[] x0, y0; // positions as built (reset restores)
+
+	// ===== Springs, CSR: node i owns entries rowStart[i]..rowStart[i+1] =====
+	private final int[] rowStart; // n + 1 offsets
+	private final int[] other; // node at the far end
+	private final double[] k, c, rest; // stiffness, damping, rest length
+
+	// ===== Per-block partials (summed in block order) =====
+	private final int blocks;
+	private final double[] blockKE, blockSpringPE, blockGravityPE;
+	private final double[] blockDot1, blockDot2, blockDot3; // CG reductions
+
+	// ===== Parallel stepping (null pool = single-threaded) =====
+	private WorkerPool pool;
+	private int[] split; // worker w owns blocks split[w] .. split[w+1]
+	private int firstPhase; // phase run by pool pass 0
+	private final WorkerPool.Pass pass = this::runPass;
+
+	// ===== Integration =====
+	private Integrator integrator = Integrator.SEMI_IMPLICIT_EULER;
+	private double theta; // implicit weight: 1 backward Euler, 1/2 midpoint
+	private double passDt; // dt of the step being run
+	private double solverTol = 1e-6; // CG: residual relative to rhs
+	private int maxIterations = 1000;
+	private int lastIterations; // CG iterations of the last step
+
+	// ===== Implicit solve (allocated when an implicit scheme is set) =====
+	private double[] dvx, dvy; // velocity change (kept: next warm start)
+	private double[] rx, ry, zx, zy, px, py, qx, qy; // CG vectors
+	private double[] diagX, diagY; // Jacobi preconditioner
+	private double[] ux, uy, bIso, bDir; // per entry: A-block = bIso·I + bDir·uuᵀ
+	private double alpha, beta; // CG coefficients for UPDATE / DIRECTION
+
+	// ===== Shared state =====
+	private double time;
+	private double gravity; // m/s², pulls towards -y
+	private double kinetic, potential; // of the current state
+	private int probe; // node reported by snapshot() (first free one)
+
+	private SpringNetwork(Builder b)
+	{
+		n = b.nodes;
+		x = Arrays.copyOf(b.px, n);
+		y = Arrays.copyOf(b.py, n);
+		x0 = x.clone();
+		y0 = y.clone();
+		vx = new double[n];
+		vy = new double[n];
+		fx = new double[n];
+		fy = new double[n];
+		mass = Arrays.copyOf(b.mass, n);
+		invMass = new double[n];
+		for (int i = 0; i < n; i++)
+			invMass[i] = b.pinned[i] ? 0.0 : 1.0 / mass[i];
+
+		// ---- CSR: count springs per node, prefix-sum, then fill both ends
+		rowStart = new int[n + 1];
+		for (int e = 0; e < b.edges; e++)
+		{
+			rowStart[b.from[e] + 1]++;
+			rowStart[b.to[e] + 1]++;
+		}
+		for (int i = 0; i < n; i++)
+			rowStart[i + 1] += rowStart[i];
+		int entries = rowStart[n];
+		other = new int[entries];
+		k = new double[entries];
+		c = new double[entries];
+		rest = new double[entries];
+		int[] fill = Arrays.copyOf(rowStart, n);
+		for (int e = 0; e < b.edges; e++)
+		{
+			int i = b.from[e], j = b.to[e];
+			put(fill[i]++, j, b, e);
+			put(fill[j]++, i, b, e);
+		}
+		blocks = (n + BLOCK - 1) / BLOCK;
+		blockKE = new double[blocks];
+		blockSpringPE = new double[blocks];
+		blockGravityPE = new double[blocks];
+		blockDot1 = new double[blocks];
+		blockDot2 = new double[blocks];
+		blockDot3 = new double[blocks];
+		while (probe < n - 1 && invMass[probe] == 0.0)
+			probe++; // first free node
+		computeForces();
+	}
+
+	// ===== Ready-made networks =====
+
+	/**
+	 * A chain of n masses along the x axis, spacing apart, joined by
+	 * springs of stiffness k and damping c. Node 0 is pinned (the wall);
+	 * the probe is the free end.
+	 */
+	public static SpringNetwork chain(int n, double spacing, double m, double k,
+			double c)
+	{
+		if (n < 2) throw new IllegalArgumentException("`n` must be >= 2");
+		Builder b = new Builder();
+		for (int i = 0; i < n; i++)
+			b.addNode(i * spacing, 0.0, m);
+		b.pin(0);
+		for (int i = 1; i < n; i++)
+			b.addSpring(i - 1, i, k, c);
+		SpringNetwork net = b.build();
+		net.setProbe(n - 1);
+		return net;
+	}
+
+	/**
+	 * A cols × rows lattice (cloth) in the plane, spacing apart, hanging
+	 * from its pinned top row. Structural springs join horizontal and
+	 * vertical neighbours; with shear, diagonal springs (at k / √2) keep
+	 * the squares from collapsing. The probe is the bottom-right node.
+	 */
+	public static SpringNetwork grid(int cols, int rows, double spacing,
+			double m, double k, double c, boolean shear)
+	{
+		if (cols < 1 || rows < 2 || (long) cols * rows > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("grid must be >= 1 × 2");
+		Builder b = new Builder();
+		for (int r = 0; r < rows; r++)
+			for (int q = 0; q < cols; q++)
+				b.addNode(q * spacing, -r * spacing, m);
+		for (int q = 0; q < cols; q++)
+			b.pin(q);
+
+		double kShear = k / Math.sqrt(2.0);
+		for (int r = 0; r < rows; r++)
+			for (int q = 0; q < cols; q++)
+			{
+				int i = r * cols + q;
+				if (q + 1 < cols) b.addSpring(i, i + 1, k, c);
+				if (r + 1 < rows) b.addSpring(i, i + cols, k, c);
+				if (shear && q + 1 < cols && r + 1 < rows)
+				{
+					b.addSpring(i, i + cols + 1, kShear, c);
+					b.addSpring(i + 1, i + cols, kShear, c);
+				}
+			}
+		SpringNetwork net = b.build();
+		net.setProbe(rows * cols - 1);
+		return net;
+	}
+
+	// ===== SimModel =====
+
+	/**
+	 * Put every node back where it was built, at rest, and restart the
+	 * clock. Optional keys: "g" (gravity, m/s², default 0), and "x0" / "v0"
+	 * to pluck the probe node sideways (x displacement and velocity).
+	 */
+	@Override
+	public void reset(Map<String, Double> params)
+			throws IllegalArgumentException
+	{
+		double g = params.getOrDefault("g", 0.0);
+		double px = params.getOrDefault("x0", 0.0);
+		double pv = params.getOrDefault("v0", 0.0);
+		if (!Double.isFinite(g) || !Double.isFinite(px) || !Double.isFinite(pv))
+			throw new IllegalArgumentException("`g`, `x0`, `v0` must be finite");
+
+		System.arraycopy(x0, 0, x, 0, n);
+		System.arraycopy(y0, 0, y, 0, n);
+		Arrays.fill(vx, 0.0);
+		Arrays.fill(vy, 0.0);
+		x[probe] += px;
+		vx[probe] = pv;
+		gravity = g;
+		time = 0.0;
+		if (dvx != null)
+		{
+			Arrays.fill(dvx, 0.0); // no warm start across runs
+			Arrays.fill(dvy, 0.0);
+		}
+		computeForces();
+	}
+
+	/**
+	 * Choose the time-stepping scheme: SEMI_IMPLICIT_EULER (default),
+	 * BACKWARD_EULER or IMPLICIT_MIDPOINT. The implicit ones stay stable
+	 * at steps far beyond √(m/k), at the cost of a CG solve per step.
+	 */
+	public void setIntegrator(Integrator integrator)
+	{
+		if (integrator == null)
+			throw new IllegalArgumentException("integrator must not be null");
+		switch (integrator)
+		{
+		case SEMI_IMPLICIT_EULER:
+			theta = 0.0;
+			break;
+		case BACKWARD_EULER:
+			theta = 1.0;
+			break;
+		case IMPLICIT_MIDPOINT:
+			theta = 0.5;
+			break;
+		default:
+			throw new IllegalArgumentException("SpringNetwork supports euler,"
+					+ " implicit and midpoint, not `" + integrator.key() + "`");
+		}
+		if (theta > 0 && dvx == null) allocateSolver();
+		this.integrator = integrator;
+	}
+
+	public Integrator getIntegrator()
+	{
+		return integrator;
+	}
+
+	/**
+	 * Implicit schemes: stop CG once the residual is below tol times the
+	 * right-hand side, or after maxIterations.
+	 */
+	public void setSolver(double tol, int maxIterations)
+	{
+		if (!(tol > 0)) throw new IllegalArgumentException("`tol` must be > 0");
+		if (maxIterations < 1)
+			throw new IllegalArgumentException("`maxIterations` must be >= 1");
+		this.solverTol = tol;
+		this.maxIterations = maxIterations;
+	}
+
+	/** CG iterations the last implicit step took (0 for explicit steps). */
+	public int lastIterations()
+	{
+		return lastIterations;
+	}
+
+	/**
+	 * Advance every node by dt: new velocities (from the stored forces, or
+	 * the implicit solve), positions from those, then the forces (and
+	 * energies) of the new state for the next call.
+	 */
+	@Override
+	public void step(double dt)
+	{
+		passDt = dt;
+		if (theta > 0) solveImplicit();
+		else lastIterations = 0;
+		runPhases(INTEGRATE, 2); // INTEGRATE, then FORCES
+		time += dt;
+		sumEnergies();
+	}
+
+	/** Return [time, x, v, a, KE, PE, E] (probe node, network totals). */
+	@Override
+	public double[] snapshot()
+	{
+		double[] s = new double[7];
+		snapshotInto(s, 0);
+		return s;
+	}
+
+	/** Same values as snapshot(), written into dst (no allocation). */
+	@Override
+	public void snapshotInto(double[] dst, int offset)
+	{
+		int i = probe;
+		dst[offset] = time;
+		dst[offset + 1] = x[i] - x0[i];
+		dst[offset + 2] = vx[i];
+		dst[offset + 3] = fx[i] * invMass[i];
+		dst[offset + 4] = kinetic;
+		dst[offset + 5] = potential;
+		dst[offset + 6] = kinetic + potential;
+	}
+
+	// ===== Accessors =====
+
+	/** Number of nodes. */
+	public int size()
+	{
+		return n;
+	}
+
+	/** Number of springs (each counted once). */
+	public int springCount()
+	{
+		return rowStart[n] / 2;
+	}
+
+	public double time()
+	{
+		return time;
+	}
+
+	public double x(int i)
+	{
+		return x[i];
+	}
+
+	public double y(int i)
+	{
+		return y[i];
+	}
+
+	public double vx(int i)
+	{
+		return vx[i];
+	}
+
+	public double vy(int i)
+	{
+		return vy[i];
+	}
+
+	public boolean isPinned(int i)
+	{
+		return invMass[i] == 0.0;
+	}
+
+	/** Springs of node i are entries firstSpring(i) .. firstSpring(i+1). */
+	public int firstSpring(int i)
+	{
+		return rowStart[i];
+	}
+
+	/** Node at the far end of spring entry s. */
+	public int springEnd(int s)
+	{
+		return other[s];
+	}
+
+	/** Kinetic energy of the whole network. */
+	public double kineticEnergy()
+	{
+		return kinetic;
+	}
+
+	/** Spring plus gravitational potential energy of the whole network. */
+	public double potentialEnergy()
+	{
+		return potential;
+	}
+
+	/** Choose which node snapshot() reports. */
+	public void setProbe(int i)
+	{
+		if (i < 0 || i >= n)
+			throw new IndexOutOfBoundsException("probe " + i + " of " + n);
+		probe = i;
+	}
+
+	/**
+	 * Step with threads workers (the stepping thread plus threads - 1
+	 * pool threads); 1 goes back to single-threaded stepping. Worth it for
+	 * networks of some ten thousand nodes and up—below that the barriers
+	 * cost more than the work. Results do not depend on the count.
+	 */
+	public void setThreads(int threads)
+	{
+		if (threads < 1)
+			throw new IllegalArgumentException("`threads` must be >= 1");
+		if (pool != null)
+		{
+			pool.close();
+			pool = null;
+		}
+		threads = Math.min(threads, blocks); // no worker without a block
+		if (threads == 1) return;
+		split = partition(threads);
+		pool = new WorkerPool(threads, "spring-network");
+	}
+
+	/**
+	 * Stop the worker threads (same as setThreads(1)). The network stays
+	 * usable and steps single-threaded afterwards.
+	 */
+	@Override
+	public void close()
+	{
+		setThreads(1);
+	}
+
+	/** Workers used per step (1 = single-threaded). */
+	public int getThreads()
+	{
+		return pool == null ? 1 : pool.size();
+	}
+
+	/**
+	 * Run count consecutive phases starting at first over all blocks—on
+	 * the pool if there is one, with a barrier after each phase.
+	 */
+	private void runPhases(int first, int count)
+	{
+		if (pool == null)
+			for (int p = first; p < first + count; p++)
+				runPhase(p, 0, blocks);
+		else
+		{
+			firstPhase = first;
+			pool.run(count, pass);
+		}
+	}
+
+	// ---- Helper: pool pass → phase firstPhase + pass on the worker's blocks
+	private void runPass(int worker, int pass)
+	{
+		runPhase(firstPhase + pass, split[worker], split[worker + 1]);
+	}
+
+	// ---- Helper: one phase on blocks [fromBlock, toBlock) ----
+	private void runPhase(int phase, int fromBlock, int toBlock)
+	{
+		int from = fromBlock * BLOCK, to = Math.min(n, toBlock * BLOCK);
+		switch (phase)
+		{
+		case INTEGRATE:
+			if (theta > 0) applyImplicit(from, to);
+			else integrate(from, to, passDt);
+			break;
+		case FORCES:
+			forces(fromBlock, toBlock);
+			break;
+		case JACOBIAN:
+			jacobian(fromBlock, toBlock);
+			break;
+		case DIRECTION:
+			direction(from, to);
+			break;
+		case MATVEC:
+			matvec(fromBlock, toBlock);
+			break;
+		case UPDATE:
+			update(fromBlock, toBlock);
+			break;
+		default:
+			throw new IllegalStateException("phase " + phase);
+		}
+	}
+
+	/**
+	 * Cut the blocks into threads contiguous runs of about equal cost
+	 * (springs + nodes); returns the threads + 1 boundaries.
+	 */
+	private int[] partition(int threads)
+	{
+		int[] cut = new int[threads + 1];
+		long total = rowStart[n] + (long) n;
+		int b = 0;
+		for (int w = 1; w < threads; w++)
+		{
+			long target = total * w / threads;
+			while (b < blocks - (threads - w)
+					&& rowStart[Math.min(n, (b + 1) * BLOCK)]
+							+ (long) Math.min(n, (b + 1) * BLOCK) <= target)
+				b++;
+			cut[w] = Math.max(b, cut[w - 1] + 1);
+			b = cut[w];
+		}
+		cut[threads] = blocks;
+		return cut;
+	}
+
+	// ---- Helper: forces and energies of the current state, all blocks ----
+	private void computeForces()
+	{
+		forces(0, blocks);
+		sumEnergies();
+	}
+
+	// ---- Helper: semi-implicit Euler update of nodes [from, to) ----
+	private void integrate(int from, int to, double dt)
+	{
+		final double[] x = this.x, y = this.y, vx = this.vx, vy = this.vy,
+				fx = this.fx, fy = this.fy, invMass = this.invMass;
+		for (int i = from; i < to; i++)
+		{
+			double w = invMass[i] * dt;
+			double vxi = vx[i] + fx[i] * w;
+			double vyi = vy[i] + fy[i] * w;
+			vx[i] = vxi;
+			vy[i] = vyi;
+			x[i] += vxi * dt;
+			y[i] += vyi * dt;
+		}
+	}
+
+	/**
+	 * Spring forces + gravity on every node of blocks [fromBlock, toBlock),
+	 * gathered over each node's own CSR row, and each block's energies.
+	 */
+	private void forces(int fromBlock, int toBlock)
+	{
+		final double[] x = this.x, y = this.y, vx = this.vx, vy = this.vy;
+		final int[] rowStart = this.rowStart, other = this.other;
+		final double[] k = this.k, c = this.c, rest = this.rest;
+		for (int b = fromBlock; b < toBlock; b++)
+		{
+			double springPE = 0, gravityPE = 0, ke = 0;
+			for (int i = b * BLOCK, last = Math.min(n, i + BLOCK); i < last; i++)
+			{
+				double xi = x[i], yi = y[i], vxi = vx[i], vyi = vy[i];
+				double sx = 0, sy = -gravity * mass[i];
+				for (int s = rowStart[i], end = rowStart[i + 1]; s < end; s++)
+				{
+					int j = other[s];
+					double dx = x[j] - xi, dy = y[j] - yi;
+					double len = Math.sqrt(dx * dx + dy * dy);
+					if (len == 0.0) continue; // coincident ends: no direction
+					double inv = 1.0 / len, stretch = len - rest[s];
+					double closing = ((vx[j] - vxi) * dx + (vy[j] - vyi) * dy)
+							* inv;
+					double f = (k[s] * stretch + c[s] * closing) * inv;
+					sx += f * dx;
+					sy += f * dy;
+					springPE += k[s] * stretch * stretch; // seen from both ends
+				}
+				fx[i] = sx;
+				fy[i] = sy;
+				gravityPE += mass[i] * yi;
+				ke += mass[i] * (vxi * vxi + vyi * vyi);
+			}
+			blockKE[b] = ke;
+			blockSpringPE[b] = springPE;
+			blockGravityPE[b] = gravityPE;
+		}
+	}
+
+	// ---- Helper: network energies from the block partials, in order ----
+	private void sumEnergies()
+	{
+		double ke = 0, springPE = 0, gravityPE = 0;
+		for (int b = 0; b < blocks; b++)
+		{
+			ke += blockKE[b];
+			springPE += blockSpringPE[b];
+			gravityPE += blockGravityPE[b];
+		}
+		kinetic = 0.5 * ke;
+		potential = 0.25 * springPE + gravity * gravityPE;
+	}
+
+	// ===== Implicit step (linearized, matrix-free CG) =====
+	//
+	// With dv = v' - v and θ the scheme weight, each step solves
+	//   (M - θh·D - θ²h²·K) dv = h·f + θh²·K·v
+	// where K = ∂f/∂x and D = ∂f/∂v at the current state, then moves
+	// x' = x + h·(v + θ·dv). Per spring, K is k·uuᵀ plus the transverse
+	// part k·(1 - rest/len)·(I - uuᵀ), clamped at zero when compressed so
+	// the matrix stays SPD; D is c·uuᵀ. Pinned nodes keep dv = 0.
+
+	/** Build the system, then CG until the residual is small enough. */
+	private void solveImplicit()
+	{
+		runPhases(JACOBIAN, 1); // blocks, rhs, r = b - A·dv, z, p
+		double rz = sum(blockDot1), rr = sum(blockDot2), bb = sum(blockDot3);
+		int it = 0;
+		if (bb == 0.0)
+		{
+			Arrays.fill(dvx, 0.0); // nothing drives the system: dv = 0
+			Arrays.fill(dvy, 0.0);
+			rr = 0.0;
+		}
+		double limit = solverTol * solverTol * bb;
+		while (rr > limit && it < maxIterations)
+		{
+			if (it == 0) runPhases(MATVEC, 1); // q = A·p
+			else runPhases(DIRECTION, 2); // p = z + β·p, then q = A·p
+			double pq = sum(blockDot1);
+			if (!(pq > 0)) break; // p vanished (all pinned) or broke down
+			alpha = rz / pq;
+			runPhases(UPDATE, 1); // dv += α·p, r -= α·q, z = r / diag
+			double rzNext = sum(blockDot1);
+			rr = sum(blockDot2);
+			beta = rzNext / rz;
+			rz = rzNext;
+			it++;
+		}
+		lastIterations = it;
+	}
+
+	/**
+	 * Per free node of the blocks: the A-blocks of its CSR row, Jacobi
+	 * diagonal, right-hand side and starting residual for the warm-start
+	 * guess dv. Block partials: r·z, r·r, b·b.
+	 */
+	private void jacobian(int fromBlock, int toBlock)
+	{
+		final double[] x = this.x, y = this.y, vx = this.vx, vy = this.vy;
+		final int[] rowStart = this.rowStart, other = this.other;
+		final double[] k = this.k, c = this.c, rest = this.rest;
+		final double h = passDt, th = theta * h, th2 = th * th;
+		for (int b = fromBlock; b < toBlock; b++)
+		{
+			double rz = 0, rr = 0, bb = 0;
+			for (int i = b * BLOCK, last = Math.min(n, i + BLOCK); i < last; i++)
+			{
+				if (invMass[i] == 0.0)
+				{
+					dvx[i] = dvy[i] = rx[i] = ry[i] = px[i] = py[i] = 0.0;
+					zx[i] = zy[i] = 0.0;
+					continue;
+				}
+				double xi = x[i], yi = y[i], vxi = vx[i], vyi = vy[i];
+				double dxi = dvx[i], dyi = dvy[i];
+				double kvx = 0, kvy = 0; // K·v
+				double ax = mass[i] * dxi, ay = mass[i] * dyi; // A·dv
+				double dgx = mass[i], dgy = mass[i];
+				for (int s = rowStart[i], end = rowStart[i + 1]; s < end; s++)
+				{
+					int j = other[s];
+					double ex = x[j] - xi, ey = y[j] - yi;
+					double len = Math.sqrt(ex * ex + ey * ey);
+					if (len == 0.0) // coincident ends: no direction
+					{
+						ux[s] = uy[s] = bIso[s] = bDir[s] = 0.0;
+						continue;
+					}
+					double uxs = ex / len, uys = ey / len;
+					double kPerp = k[s] * Math.max(0.0, 1.0 - rest[s] / len);
+					double kAlong = k[s] - kPerp;
+					double wx = vx[j] - vxi, wy = vy[j] - vyi;
+					double uw = uxs * wx + uys * wy;
+					kvx += kPerp * wx + kAlong * uw * uxs;
+					kvy += kPerp * wy + kAlong * uw * uys;
+
+					double iso = th2 * kPerp, dir = th * c[s] + th2 * kAlong;
+					ux[s] = uxs;
+					uy[s] = uys;
+					bIso[s] = iso;
+					bDir[s] = dir;
+					dgx += iso + dir * uxs * uxs;
+					dgy += iso + dir * uys * uys;
+					double gx = dxi - dvx[j], gy = dyi - dvy[j];
+					double ug = dir * (uxs * gx + uys * gy);
+					ax += iso * gx + ug * uxs;
+					ay += iso * gy + ug * uys;
+				}
+				double bx = h * fx[i] + th * h * kvx;
+				double by = h * fy[i] + th * h * kvy;
+				double rxi = bx - ax, ryi = by - ay;
+				double zxi = rxi / dgx, zyi = ryi / dgy;
+				diagX[i] = dgx;
+				diagY[i] = dgy;
+				rx[i] = rxi;
+				ry[i] = ryi;
+				zx[i] = px[i] = zxi;
+				zy[i] = py[i] = zyi;
+				rz += rxi * zxi + ryi * zyi;
+				rr += rxi * rxi + ryi * ryi;
+				bb += bx * bx + by * by;
+			}
+			blockDot1[b] = rz;
+			blockDot2[b] = rr;
+			blockDot3[b] = bb;
+		}
+	}
+
+	// ---- Helper: q = A·p over the blocks; partial p·q ----
+	private void matvec(int fromBlock, int toBlock)
+	{
+		final int[] rowStart = this.rowStart, other = this.other;
+		final double[] px = this.px, py = this.py, ux = this.ux, uy = this.uy,
+				bIso = this.bIso, bDir = this.bDir;
+		for (int b = fromBlock; b < toBlock; b++)
+		{
+			double pq = 0;
+			for (int i = b * BLOCK, last = Math.min(n, i + BLOCK); i < last; i++)
+			{
+				if (invMass[i] == 0.0)
+				{
+					qx[i] = qy[i] = 0.0;
+					continue;
+				}
+				double pxi = px[i], pyi = py[i];
+				double ax = mass[i] * pxi, ay = mass[i] * pyi;
+				for (int s = rowStart[i], end = rowStart[i + 1]; s < end; s++)
+				{
+					int j = other[s];
+					double gx = pxi - px[j], gy = pyi - py[j];
+					double ug = bDir[s] * (ux[s] * gx + uy[s] * gy);
+					ax += bIso[s] * gx + ug * ux[s];
+					ay += bIso[s] * gy + ug * uy[s];
+				}
+				qx[i] = ax;
+				qy[i] = ay;
+				pq += pxi * ax + pyi * ay;
+			}
+			blockDot1[b] = pq;
+		}
+	}
+
+	// ---- Helper: dv += α·p, r -= α·q, z = r / diag; partials r·z, r·r ----
+	private void update(int fromBlock, int toBlock)
+	{
+		final double a = alpha;
+		for (int b = fromBlock; b < toBlock; b++)
+		{
+			double rz = 0, rr = 0;
+			for (int i = b * BLOCK, last = Math.min(n, i + BLOCK); i < last; i++)
+			{
+				if (invMass[i] == 0.0) continue; // all zero for pinned
+				dvx[i] += a * px[i];
+				dvy[i] += a * py[i];
+				double rxi = rx[i] - a * qx[i], ryi = ry[i] - a * qy[i];
+				double zxi = rxi / diagX[i], zyi = ryi / diagY[i];
+				rx[i] = rxi;
+				ry[i] = ryi;
+				zx[i] = zxi;
+				zy[i] = zyi;
+				rz += rxi * zxi + ryi * zyi;
+				rr += rxi * rxi + ryi * ryi;
+			}
+			blockDot1[b] = rz;
+			blockDot2[b] = rr;
+		}
+	}
+
+	// ---- Helper: p = z + β·p over nodes [from, to) ----
+	private void direction(int from, int to)
+	{
+		final double bt = beta;
+		for (int i = from; i < to; i++)
+		{
+			px[i] = zx[i] + bt * px[i];
+			py[i] = zy[i] + bt * py[i];
+		}
+	}
+
+	// ---- Helper: x += h·(v + θ·dv), v += dv over nodes [from, to) ----
+	private void applyImplicit(int from, int to)
+	{
+		final double h = passDt, th = theta;
+		for (int i = from; i < to; i++)
+		{
+			x[i] += h * (vx[i] + th * dvx[i]);
+			y[i] += h * (vy[i] + th * dvy[i]);
+			vx[i] += dvx[i];
+			vy[i] += dvy[i];
+		}
+	}
+
+	// ---- Helper: CG vectors and per-entry blocks, allocated once ----
+	private void allocateSolver()
+	{
+		int entries = rowStart[n];
+		dvx = new double[n];
+		dvy = new double[n];
+		rx = new double[n];
+		ry = new double[n];
+		zx = new double[n];
+		zy = new double[n];
+		px = new double[n];
+		py = new double[n];
+		qx = new double[n];
+		qy = new double[n];
+		diagX = new double[n];
+		diagY = new double[n];
+		ux = new double[entries];
+		uy = new double[entries];
+		bIso = new double[entries];
+		bDir = new double[entries];
+	}
+
+	// ---- Helper: sum of block partials, in block order (deterministic) ----
+	private double sum(double[] partials)
+	{
+		double total = 0;
+		for (int b = 0; b < blocks; b++)
+			total += partials[b];
+		return total;
+	}
+
+	// ---- Helper: copy builder spring e into CSR entry s (far end j) ----
+	private void put(int s, int j, Builder b, int e)
+	{
+		other[s] = j;
+		k[s] = b.k[e];
+		c[s] = b.c[e];
+		rest[s] = b.rest[e];
+	}
+
+	/**
+	 * Collects nodes and springs, then lays them out as a SpringNetwork.
+	 * A spring's rest length is the distance between its ends when added.
+	 */
+	public static class Builder
+	{
+		private int nodes, edges;
+		private double[] px = new double[16], py = new double[16],
+				mass = new double[16];
+		private boolean[] pinned = new boolean[16];
+		private int[] from = new int[16], to = new int[16];
+		private double[] k = new double[16], c = new double[16],
+				rest = new double[16];
+
+		/** Add a node at (x, y) with the given mass; returns its index. */
+		public int addNode(double x, double y, double m)
+		{
+			if (!(m > 0)) throw new IllegalArgumentException("`m` must be > 0");
+			if (nodes == px.length)
+			{
+				int cap = nodes * 2;
+				px = Arrays.copyOf(px, cap);
+				py = Arrays.copyOf(py, cap);
+				mass = Arrays.copyOf(mass, cap);
+				pinned = Arrays.copyOf(pinned, cap);
+			}
+			px[nodes] = x;
+			py[nodes] = y;
+			mass[nodes] = m;
+			return nodes++;
+		}
+
+		/** Fix node i in place (forces on it are ignored). */
+		public Builder pin(int i)
+		{
+			checkNode(i);
+			pinned[i] = true;
+			return this;
+		}
+
+		/** Join nodes i and j with a spring resting at their distance. */
+		public Builder addSpring(int i, int j, double stiffness,
+				double damping)
+		{
+			checkNode(i);
+			checkNode(j);
+			double len = Math.hypot(px[j] - px[i], py[j] - py[i]);
+			return addSpring(i, j, stiffness, damping, len);
+		}
+
+		/** Join nodes i and j with a spring of the given rest length. */
+		public Builder addSpring(int i, int j, double stiffness,
+				double damping, double restLength)
+		{
+			checkNode(i);
+			checkNode(j);
+			if (i == j)
+				throw new IllegalArgumentException("spring needs two nodes");
+			if (!(stiffness > 0))
+				throw new IllegalArgumentException("`k` must be > 0");
+			if (!(restLength >= 0))
+				throw new IllegalArgumentException("rest length must be >= 0");
+			if (edges == from.length)
+			{
+				int cap = edges * 2;
+				from = Arrays.copyOf(from, cap);
+				to = Arrays.copyOf(to, cap);
+				k = Arrays.copyOf(k, cap);
+				c = Arrays.copyOf(c, cap);
+				rest = Arrays.copyOf(rest, cap);
+			}
+			from[edges] = i;
+			to[edges] = j;
+			k[edges] = stiffness;
+			c[edges] = Math.max(0.0, damping);
+			rest[edges] = restLength;
+			edges++;
+			return this;
+		}
+
+		public SpringNetwork build()
+		{
+			if (nodes == 0) throw new IllegalStateException("no nodes");
+			return new SpringNetwork(this);
+		}
+
+		// ---- Helper: node index must exist ----
+		private void checkNode(int i)
+		{
+			if (i < 0 || i >= nodes)
+				throw new IndexOutOfBoundsException("node " + i + " of " + nodes);
+		}
+	}
+}
@@ -0,0 +1,279 @@
+package physicssim;
+
+import java.io.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Lead Author(s):
+ * @author Arthur Nguyen
+ *
+ * Version/date: October 17, 2026
+ *
+ * StreamingCsvWriter
+ *
+ * A SimEngine.SampleSink that appends every logged sample to a CSV file
+ * while the run is going, instead of holding it all in memory.
+ *  - The engine thread copies samples into fixed-size chunks.
+ *  - Full chunks go through a bounded queue to a background writer thread,
+ *    which formats them and hands the emptied chunk back for reuse.
+ * Memory use is CHUNKS * ROWS_PER_CHUNK rows no matter how long the run is;
+ * if the disk falls behind, accept() blocks until a chunk is free.
+ * Output is byte-identical to DataSet.toCSV for the same samples (and the
+ * same fixedDigits setting).
+ */
+
+public class StreamingCsvWriter implements SimEngine.SampleSink, Closeable
+{
+	private static final int CHUNKS = 8; // chunks in circulation
+	private static final int ROWS_PER_CHUNK = 4096; // samples per chunk
+
+	// ---- A block of samples, or a control marker (flush / end) ----
+	private static final class Chunk
+	{
+		final double[] data;
+		int rows;
+		final CountDownLatch done; // non-null for flush/end markers
+
+		Chunk(int capacity, CountDownLatch done)
+		{
+			this.data = new double[capacity];
+			this.done = done;
+		}
+	}
+
+	private final File file;
+	private final int width; // values per sample (t plus row)
+	private final BlockingQueue<Chunk> free = new ArrayBlockingQueue<>(CHUNKS);
+	private final BlockingQueue<Chunk> full = new ArrayBlockingQueue<>(
+			CHUNKS + 1);
+	private final Thread writerThread;
+
+	private Chunk current; // chunk the engine is filling
+	private long rowsAccepted; // engine side
+	private boolean closed;
+	private volatile IOException failure; // first write error, if any
+
+	/**
+	 * Open file for writing, write the header (if provided) and start the
+	 * writer thread.
+	 *
+	 * @param width number of values per sample, e.g. 7 for [t, x..E].
+	 */
+	public StreamingCsvWriter(File file, String[] header, int width)
+			throws IOException
+	{
+		this(file, header, width, -1);
+	}
+
+	/**
+	 * Same, printing every number with exactly fixedDigits decimals (see
+	 * DataSet.toCSV(file, header, fixedDigits)); negative = default format.
+	 */
+	public StreamingCsvWriter(File file, String[] header, int width,
+			int fixedDigits) throws IOException
+	{
+		if (width < 1) throw new IllegalArgumentException("width must be > 0");
+		this.file = file;
+		this.width = width;
+		for (int i = 0; i < CHUNKS; i++)
+			free.add(new Chunk(ROWS_PER_CHUNK * width, null));
+		current = free.poll();
+
+		FastCsvWriter out = new FastCsvWriter(file);
+		try
+		{
+			out.setFixedDigits(fixedDigits);
+			if (header != null && header.length > 0) out.writeHeader(header);
+		}
+		catch (IOException ex)
+		{
+			out.close();
+			throw ex;
+		}
+
+		writerThread = new Thread(() -> drain(out), "csv-writer");
+		writerThread.setDaemon(true);
+		writerThread.start();
+	}
+
+	/** Copy one [t, row...] sample into the current chunk. */
+	@Override
+	public void accept(double[] sample)
+	{
+		if (closed) throw new IllegalStateException("writer is closed");
+		if (sample.length != width)
+			throw new IllegalArgumentException(
+					"sample must be a double[" + width + "]");
+
+		System.arraycopy(sample, 0, current.data, current.rows * width, width);
+		rowsAccepted++;
+		if (++current.rows == ROWS_PER_CHUNK)
+		{
+			put(current);
+			current = take();
+		}
+	}
+
+	/**
+	 * Write out everything accepted so far and flush the file, so it can be
+	 * read or copied while streaming continues.
+	 */
+	public void flush() throws IOException
+	{
+		if (closed) return;
+		handOff(new Chunk(0, new CountDownLatch(1)));
+		checkFailure();
+	}
+
+	/** Flush, stop the writer thread and close the file. */
+	@Override
+	public void close() throws IOException
+	{
+		if (closed) return;
+		Chunk end = new Chunk(0, new CountDownLatch(1));
+		end.rows = -1; // marks end of stream
+		handOff(end);
+		closed = true;
+		try
+		{
+			writerThread.join();
+		}
+		catch (InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+		}
+		checkFailure();
+	}
+
+	/** Whether close() has run (accept() then throws). */
+	public boolean isClosed()
+	{
+		return closed;
+	}
+
+	/** The file being written. */
+	public File file()
+	{
+		return file;
+	}
+
+	/** Samples accepted so far (header not counted). */
+	public long rowsAccepted()
+	{
+		return rowsAccepted;
+	}
+
+	// ---- Engine side: queue the partial chunk + a marker, then wait ----
+	private void handOff(Chunk marker)
+	{
+		if (current.rows > 0)
+		{
+			put(current);
+			current = take();
+		}
+		put(marker);
+		try
+		{
+			marker.done.await();
+		}
+		catch (InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	// ---- Writer thread: format chunks until the end marker ----
+	private void drain(FastCsvWriter out)
+	{
+		try
+		{
+			while (true)
+			{
+				Chunk c = full.take();
+				if (c.done != null) // flush or end marker
+				{
+					try
+					{
+						if (failure == null) out.flush();
+						if (c.rows < 0) out.close();
+					}
+					catch (IOException ex)
+					{
+						if (failure == null) failure = ex;
+					}
+					c.done.countDown();
+					if (c.rows < 0) return;
+					continue;
+				}
+
+				if (failure == null)
+				{
+					try
+					{
+						writeChunk(out, c);
+					}
+					catch (IOException ex)
+					{
+						failure = ex; // keep draining so accept() never
+										// blocks forever
+					}
+				}
+				c.rows = 0;
+				free.add(c);
+			}
+		}
+		catch (InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	// ---- Same row layout as DataSet.toCSV ----
+	private void writeChunk(FastCsvWriter out, Chunk c) throws IOException
+	{
+		for (int r = 0; r < c.rows; r++)
+		{
+			int base = r * width;
+			out.writeDouble(c.data[base]);
+			for (int i = 1; i < width; i++)
+			{
+				out.comma();
+				out.writeDouble(c.data[base + i]);
+			}
+			out.newLine();
+		}
+	}
+
+	private void put(Chunk c)
+	{
+		try
+		{
+			full.put(c);
+		}
+		catch (InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("interrupted while streaming", ex);
+		}
+	}
+
+	private Chunk take()
+	{
+		try
+		{
+			return free.take();
+		}
+		catch (InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("interrupted while streaming", ex);
+		}
+	}
+
+	private void checkFailure() throws IOException
+	{
+		if (failure != null) throw failure;
+	}
+}
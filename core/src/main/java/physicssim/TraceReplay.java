@@ -0,0 +1,146 @@
+package physicssim;
+
+import java.util.Map;
+
+/**
+ * Lead Author(s):
+ * @author Arthur Nguyen
+ *
+ * Version/date: October 17, 2026
+ *
+ * TraceReplay
+ *
+ * Plays back a recorded BinaryTrace as if it were a live simulation.
+ * Implements SimEngine.SimModel so it can be drawn (or driven) like
+ * MassSpringSim:
+ *  - step(dt) advances the playback clock and moves to the matching row.
+ *  - seek(t) jumps to any time with a binary search on the time column.
+ *  - snapshot() reports the current row.
+ * Rows are read straight from the memory-mapped file, so even
+ * multi-million-sample recordings are never loaded onto the heap.
+ */
+
+public class TraceReplay implements SimEngine.SimModel
+{
+	private static final String[] SNAPSHOT_COLUMNS = { "t", "x", "v", "a",
+			"KE", "PE", "E" };
+
+	private final BinaryTrace trace;
+	private final int[] snapshotCols; // trace column per snapshot slot, or -1
+	private final int tCol;
+
+	private int row; // current row
+	private double clock; // playback time (s)
+
+	/**
+	 * Replay trace, which needs at least "t" and "x" columns (recorded by
+	 * SimEngine these are {"t","x","v","a","KE","PE","E"}).
+	 */
+	public TraceReplay(BinaryTrace trace)
+	{
+		this.trace = trace;
+		this.snapshotCols = new int[SNAPSHOT_COLUMNS.length];
+		for (int i = 0; i < SNAPSHOT_COLUMNS.length; i++)
+			snapshotCols[i] = trace.columnIndex(SNAPSHOT_COLUMNS[i]);
+
+		tCol = snapshotCols[0];
+		if (tCol < 0 || snapshotCols[1] < 0)
+			throw new IllegalArgumentException(
+					"trace needs `t` and `x` columns");
+		if (trace.rows() == 0)
+			throw new IllegalArgumentException("trace is empty");
+		seek(startTime());
+	}
+
+	/** Rewind to the first sample (parameters are ignored). */
+	@Override
+	public void reset(Map<String, Double> p)
+	{
+		seek(startTime());
+	}
+
+	/** Advance playback by dt seconds of recorded time. */
+	@Override
+	public void step(double dt)
+	{
+		clock = Math.min(clock + dt, endTime());
+
+		// Usually only a row or two ahead: walk instead of searching
+		int last = trace.rows() - 1;
+		while (row < last && trace.get(tCol, row + 1) <= clock)
+			row++;
+	}
+
+	/**
+	 * Jump to the last sample at or before time t (clamped to the recording)
+	 * in O(log n).
+	 */
+	public void seek(double t)
+	{
+		clock = Math.max(startTime(), Math.min(t, endTime()));
+
+		int lo = 0, hi = trace.rows() - 1;
+		while (lo < hi)
+		{
+			int mid = (lo + hi + 1) >>> 1;
+			if (trace.get(tCol, mid) <= clock) lo = mid;
+			else hi = mid - 1;
+		}
+		row = lo;
+	}
+
+	/** Return [time, x, v, a, KE, PE, E] of the current row (NaN if absent). */
+	@Override
+	public double[] snapshot()
+	{
+		double[] s = new double[SNAPSHOT_COLUMNS.length];
+		snapshotInto(s, 0);
+		return s;
+	}
+
+	/** Same values as snapshot(), written into dst (no allocation). */
+	@Override
+	public void snapshotInto(double[] dst, int offset)
+	{
+		for (int i = 0; i < snapshotCols.length; i++)
+			dst[offset + i] = snapshotCols[i] < 0 ? Double.NaN
+					: trace.get(snapshotCols[i], row);
+	}
+
+	// ===== Accessors =====
+
+	/** Time of the first recorded sample. */
+	public double startTime()
+	{
+		return trace.get(tCol, 0);
+	}
+
+	/** Time of the last recorded sample. */
+	public double endTime()
+	{
+		return trace.get(tCol, trace.rows() - 1);
+	}
+
+	/** Current playback time. */
+	public double time()
+	{
+		return clock;
+	}
+
+	/** Whether playback has reached the last sample. */
+	public boolean atEnd()
+	{
+		return row == trace.rows() - 1;
+	}
+
+	/** Current row index and total rows, e.g. for a status line. */
+	public int row()
+	{
+		return row;
+	}
+
+	public int rows()
+	{
+		return trace.rows();
+	}
+}
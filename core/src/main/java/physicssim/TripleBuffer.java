@@ -0,0 +1,55 @@
+package physicssim;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lead Author(s):
+ * @author Arthur Nguyen
+ *
+ * Version/date: October 17, 2026
+ *
+ * TripleBuffer
+ *
+ * Lock-free handoff of fixed-size double[] states from one writer thread
+ * (the simulation loop) to one reader thread (the painter). Three
+ * preallocated slots: the writer fills its back slot and swaps it into
+ * the middle; the reader swaps the middle out when it is newer. Neither
+ * side ever waits for the other, nothing is allocated per frame, and the
+ * reader always sees one complete state (the latest published).
+ */
+
+public final class TripleBuffer
+{
+	private static final int INDEX = 0b11; // slot number bits
+	private static final int FRESH = 0b100; // middle holds an unread state
+
+	private final double[][] slots;
+	private final AtomicInteger middle = new AtomicInteger(1); // index|FRESH
+	private int back = 0; // writer's slot (writer thread only)
+	private int front = 2; // reader's slot (reader thread only)
+
+	public TripleBuffer(int width)
+	{
+		slots = new double[3][width];
+	}
+
+	/** Writer: publish a copy of src (replaces any unread older state). */
+	public void publish(double[] src)
+	{
+		System.arraycopy(src, 0, slots[back], 0, slots[back].length);
+		back = middle.getAndSet(back | FRESH) & INDEX;
+	}
+
+	/**
+	 * Reader: copy the latest published state into dst.
+	 *
+	 * @return true if it is newer than the one returned last time.
+	 */
+	public boolean read(double[] dst)
+	{
+		boolean fresh = (middle.get() & FRESH) != 0;
+		if (fresh) front = middle.getAndSet(front) & INDEX;
+		System.arraycopy(slots[front], 0, dst, 0, slots[front].length);
+		return fresh;
+	}
+}
@@ -0,0 +1,165 @@
+package physicssim;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lead Author(s):
+ * @author Arthur Nguyen
+ *
+ * Version/date: October 17, 2026
+ *
+ * WorkerPool
+ *
+ * A fixed team of threads for running one simulation step in parallel
+ * passes: run(passes, work) has every worker do work.run(worker, 0), wait
+ * at a barrier until all are done, then pass 1, and so on; it returns when
+ * the last pass is finished everywhere. The calling thread takes part as
+ * worker 0, so a pool of n threads starts only n - 1.
+ *
+ * The threads live as long as the pool (no tasks or streams created per
+ * step). Between passes they spin briefly and then yield, since a pass
+ * of a large model is short; between steps they park. Each worker decides
+ * from its index which slice of the model it owns, so which thread does
+ * what is fixed and results do not depend on scheduling.
+ */
+
+public final class WorkerPool implements AutoCloseable
+{
+	/** One pass of a step, run by every worker on its own slice. */
+	@FunctionalInterface
+	public interface Pass
+	{
+		void run(int worker, int pass);
+	}
+
+	private static final int SPINS = 1 << 10; // busy-waits before yielding
+
+	private final int size;
+	private final Thread[] threads; // workers 1 .. size-1
+
+	// ===== Current job (published by the epoch write) =====
+	private Pass work;
+	private int passes;
+	private volatile int epoch; // bumped once per run()
+	private volatile boolean closed;
+	private volatile Throwable failure; // first worker exception of a run
+
+	// ===== Barrier =====
+	private final AtomicInteger arrived = new AtomicInteger();
+	private volatile int phase;
+
+	/** Start a pool of size workers (including the caller) named name-i. */
+	public WorkerPool(int size, String name)
+	{
+		if (size < 1)
+			throw new IllegalArgumentException("`threads` must be >= 1");
+		this.size = size;
+		threads = new Thread[size - 1];
+		for (int w = 1; w < size; w++)
+		{
+			final int worker = w;
+			Thread t = new Thread(() -> workerLoop(worker), name + "-" + w);
+			t.setDaemon(true);
+			threads[w - 1] = t;
+			t.start();
+		}
+	}
+
+	/** Number of workers, the calling thread included. */
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Run passes passes of work on every worker, with a barrier after
+	 * each, and return once all are done. Rethrows a worker's exception.
+	 */
+	public void run(int passes, Pass work)
+	{
+		if (closed) throw new IllegalStateException("pool is closed");
+		this.work = work;
+		this.passes = passes;
+		failure = null;
+		epoch++; // publishes work and passes
+		for (Thread t : threads)
+			LockSupport.unpark(t);
+
+		runPasses(0, work, passes);
+
+		Throwable t = failure;
+		if (t instanceof RuntimeException) throw (RuntimeException) t;
+		if (t instanceof Error) throw (Error) t;
+	}
+
+	/** Stop the worker threads (idempotent). */
+	@Override
+	public void close()
+	{
+		if (closed) return;
+		closed = true;
+		epoch++;
+		for (Thread t : threads)
+			LockSupport.unpark(t);
+		boolean interrupted = false;
+		for (Thread t : threads)
+			while (t.isAlive())
+				try
+				{
+					t.join();
+				}
+				catch (InterruptedException e)
+				{
+					interrupted = true;
+				}
+		if (interrupted) Thread.currentThread().interrupt();
+	}
+
+	// ---- Worker thread: wait for each run(), take part, repeat ----
+	private void workerLoop(int worker)
+	{
+		int seen = 0;
+		while (true)
+		{
+			for (int spin = 0; epoch == seen; spin++)
+				if (spin < SPINS) Thread.onSpinWait();
+				else LockSupport.park(this);
+			seen = epoch;
+			if (closed) return;
+			runPasses(worker, work, passes);
+		}
+	}
+
+	// ---- Every pass, then the barrier (a failing worker still arrives) ----
+	private void runPasses(int worker, Pass work, int passes)
+	{
+		for (int p = 0; p < passes; p++)
+		{
+			try
+			{
+				if (failure == null) work.run(worker, p);
+			}
+			catch (Throwable t)
+			{
+				if (failure == null) failure = t;
+			}
+			await();
+		}
+	}
+
+	// ---- Barrier: the last to arrive resets the count and opens it ----
+	private void await()
+	{
+		int p = phase;
+		if (arrived.incrementAndGet() == size)
+		{
+			arrived.set(0);
+			phase = p + 1;
+			return;
+		}
+		for (int spin = 0; phase == p; spin++)
+			if (spin < SPINS) Thread.onSpinWait();
+			else Thread.yield();
+	}
+}
@@ -0,0 +1,136 @@
+package physicssim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Lead Author(s):
+ * @author Arthur Nguyen
+ *
+ * Version/date: October 17, 2026
+ *
+ * MassSpringSimTest
+ *
+ * Convergence order of the integrators against the closed-form solution:
+ * the error at t = 2 s is measured for dt = 0.02 .. 0.0025 (halving), and
+ * the observed order p = log2(e(dt) / e(dt/2)) must match the scheme's,
+ * with and without damping.
+ * With Coulomb friction every fixed-step integrator must come to rest
+ * inside the dead band |x| <= F_c / k and stay there, instead of
+ * chattering around v = 0.
+ */
+
+public class MassSpringSimTest
+{
+	private static final double M = 1.0, K = 20.0, C = 0.8, SECONDS = 2.0;
+	private static final double[] DTS = { 0.02, 0.01, 0.005, 0.0025 };
+
+	@Test
+	public void verletIsSecondOrder()
+	{
+		assertOrder(Integrator.VELOCITY_VERLET, 0.0, 2.0);
+	}
+
+	@Test
+	public void dampedVerletIsSecondOrder()
+	{
+		assertOrder(Integrator.VELOCITY_VERLET, C, 2.0);
+	}
+
+	@Test
+	public void yoshidaIsFourthOrder()
+	{
+		assertOrder(Integrator.YOSHIDA4, 0.0, 4.0);
+	}
+
+	@Test
+	public void dampedYoshidaIsFourthOrder()
+	{
+		assertOrder(Integrator.YOSHIDA4, C, 4.0);
+	}
+
+	@Test
+	public void frictionSettlesInDeadBand()
+	{
+		double friction = 0.5, band = friction / K;
+		for (Integrator integrator : new Integrator[] {
+				Integrator.SEMI_IMPLICIT_EULER, Integrator.VELOCITY_VERLET,
+				Integrator.RK4, Integrator.YOSHIDA4,
+				Integrator.BACKWARD_EULER, Integrator.IMPLICIT_MIDPOINT })
+		{
+			Map<String, Double> p = new HashMap<>();
+			p.put("m", M);
+			p.put("k", K);
+			p.put("x0", 0.21);
+			p.put("friction", friction);
+			MassSpringSim sim = new MassSpringSim();
+			sim.setIntegrator(integrator);
+			sim.reset(p);
+
+			// four half-swings lose 4 · 2F_c/k of amplitude: about 3 s
+			int steps = 0;
+			double[] s = new double[7];
+			do
+			{
+				sim.step(1e-3);
+				sim.snapshotInto(s, 0);
+			}
+			while (s[2] != 0.0 && ++steps < 5000);
+			assertTrue(steps < 5000, integrator + " still sliding at x="
+					+ s[1] + ", v=" + s[2]);
+			assertTrue(Math.abs(s[1]) <= band, integrator + " stopped at x="
+					+ s[1] + ", outside the dead band");
+
+			double rest = s[1];
+			for (int i = 0; i < 1000; i++)
+				sim.step(1e-3);
+			sim.snapshotInto(s, 0);
+			assertEquals(rest, s[1], integrator + " slipped from rest");
+			assertEquals(0.0, s[2], integrator + " slipped from rest");
+		}
+	}
+
+	// ---- Helper: observed order of every halving within 0.2 of expected ----
+	private static void assertOrder(Integrator integrator, double c,
+			double expected)
+	{
+		double prev = error(integrator, c, DTS[0]);
+		for (int i = 1; i < DTS.length; i++)
+		{
+			double e = error(integrator, c, DTS[i]);
+			double p = Math.log(prev / e) / Math.log(2.0);
+			assertEquals(expected, p, 0.2, integrator + " c=" + c + " dt="
+					+ DTS[i] + ": observed order");
+			prev = e;
+		}
+	}
+
+	// ---- Helper: |dx| + |dv| against exactState after SECONDS ----
+	private static double error(Integrator integrator, double c, double dt)
+	{
+		Map<String, Double> p = new HashMap<>();
+		p.put("m", M);
+		p.put("k", K);
+		p.put("c", c);
+		p.put("x0", 0.2);
+		p.put("v0", 0.0);
+		MassSpringSim sim = new MassSpringSim();
+		sim.setIntegrator(integrator);
+		sim.reset(p);
+
+		long steps = Math.round(SECONDS / dt);
+		for (long i = 0; i < steps; i++)
+			sim.step(dt);
+
+		double[] s = new double[7];
+		double[] exact = new double[2];
+		sim.snapshotInto(s, 0);
+		sim.exactState(s[0], exact);
+		return Math.abs(s[1] - exact[0]) + Math.abs(s[2] - exact[1]);
+	}
+}
@@ -0,0 +1,71 @@
+package physicssim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Lead Author(s):
+ * @author Arthur Nguyen
+ *
+ * Version/date: October 17, 2026
+ *
+ * ParameterSweepTest
+ *
+ * run() steps semi-implicit Euler grids in MassSpringBatch chunks and
+ * other integrators one MassSpringSim at a time; either way every result
+ * must equal runOne for its grid point, for any pool size.
+ */
+
+public class ParameterSweepTest
+{
+	@Test
+	public void batchedEulerMatchesRunOne()
+	{
+		assertMatchesRunOne(Integrator.SEMI_IMPLICIT_EULER);
+	}
+
+	@Test
+	public void otherIntegratorsMatchRunOne()
+	{
+		assertMatchesRunOne(Integrator.VELOCITY_VERLET);
+	}
+
+	// ---- Helper: a 200-run grid (several tasks) against runOne ----
+	private static void assertMatchesRunOne(Integrator integrator)
+	{
+		ParameterSweep sweep = new ParameterSweep();
+		sweep.setRange("k", 5, 50, 20);
+		sweep.setRange("c", 0, 2, 10);
+		sweep.setDuration(5.0);
+		sweep.setIntegrator(integrator);
+
+		for (int threads : new int[] { 1, 3 })
+		{
+			ForkJoinPool pool = new ForkJoinPool(threads);
+			ParameterSweep.Result[] results;
+			try
+			{
+				results = sweep.run(pool);
+			}
+			finally
+			{
+				pool.shutdown();
+			}
+			assertEquals(sweep.size(), results.length);
+			for (int i = 0; i < results.length; i++)
+			{
+				ParameterSweep.Result one = sweep.runOne(i);
+				String where = integrator + " run " + i;
+				assertEquals(one.params(), results[i].params(), where);
+				assertEquals(one.finalEnergy(), results[i].finalEnergy(), where);
+				assertEquals(one.peakDisplacement(),
+						results[i].peakDisplacement(), where);
+				assertEquals(one.settlingTime(), results[i].settlingTime(),
+						where);
+			}
+		}
+	}
+}
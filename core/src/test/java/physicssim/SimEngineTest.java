@@ -0,0 +1,158 @@
+package physicssim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Lead Author(s):
+ * @author Arthur Nguyen
+ *
+ * Version/date: October 17, 2026
+ *
+ * SimEngineTest
+ *
+ * Engine settings that must take effect without a reset(): the adaptive
+ * tolerance and dt (the first trial step). An adaptive run whose error
+ * estimate stays NaN must throw rather than retry forever. And a model exception on the
+ * simulation thread must stop the engine and stay visible (lastError).
+ * An adaptive run with Coulomb friction (also with a Duffing term) must
+ * come to rest in the dead band in a bounded number of steps.
+ * Unlimited speed logs once per frame, not once per step.
+ */
+
+public class SimEngineTest
+{
+	@Test
+	public void adaptiveWorksWithoutReset()
+	{
+		MassSpringSim sim = new MassSpringSim();
+		sim.reset(params());
+		SimEngine engine = new SimEngine(sim, new DataSet<>(6));
+		engine.setAdaptive(1e-8);
+		engine.setRecordInMemory(false); // a stuck h = 0 loop would log forever
+
+		SimEngine.BatchStats stats = assertTimeoutPreemptively(
+				Duration.ofSeconds(10), () -> engine.runFor(1.0));
+		assertEquals(1.0, stats.simSeconds());
+		assertEquals(1.0, sim.snapshot()[0], 1e-12);
+	}
+
+	@Test
+	public void setDtSeedsNextAdaptiveStep()
+	{
+		SimEngine engine = new SimEngine(new MassSpringSim(), new DataSet<>(6));
+		engine.setAdaptive(1.0); // loose: the first trial step is accepted
+		engine.reset(params());
+		engine.setDt(1e-4);
+
+		engine.runSteps(1);
+		assertEquals(1e-4, engine.stepStats().lastDt());
+	}
+
+	@Test
+	public void divergingAdaptiveRunThrows()
+	{
+		// force turns NaN once x < 0: no step size gives a finite error
+		MassSpringSim sim = new MassSpringSim();
+		sim.setCustomForce((t, x, v) -> Math.log(x));
+		SimEngine engine = new SimEngine(sim, new DataSet<>(6));
+		engine.setAdaptive(1e-6);
+		engine.setRecordInMemory(false);
+		engine.reset(params());
+
+		assertTimeoutPreemptively(Duration.ofSeconds(10),
+				() -> assertThrows(IllegalStateException.class,
+						() -> engine.runFor(10.0)));
+	}
+
+	@Test
+	public void adaptiveFrictionRunSettles()
+	{
+		for (double beta : new double[] { 0.0, 100.0 })
+		{
+			MassSpringSim sim = new MassSpringSim();
+			SimEngine engine = new SimEngine(sim, new DataSet<>(6));
+			engine.setAdaptive(1e-6);
+			engine.setRecordInMemory(false);
+			Map<String, Double> p = params();
+			p.put("x0", 0.21);
+			p.put("friction", 0.5);
+			p.put("beta", beta);
+			engine.reset(p);
+
+			assertTimeoutPreemptively(Duration.ofSeconds(10),
+					() -> engine.runFor(5.0));
+			double[] s = sim.snapshot();
+			String where = "beta=" + beta + ": " + engine.stepStats();
+			assertEquals(0.0, s[2], where);
+			assertTrue(Math.abs(20.0 * s[1] + beta * Math.pow(s[1], 3)) <= 0.5,
+					where + " stopped outside the dead band at x=" + s[1]);
+			assertTrue(engine.stepStats().accepted() < 1000, where);
+			assertTrue(engine.stepStats().rejected() < 1000, where);
+		}
+	}
+
+	@Test
+	public void simThreadFailureIsKept() throws InterruptedException
+	{
+		IllegalStateException boom = new IllegalStateException("boom");
+		SimEngine engine = new SimEngine(new MassSpringSim()
+		{
+			@Override
+			public void step(double dt)
+			{
+				throw boom;
+			}
+		}, new DataSet<>(6));
+		engine.reset(params());
+
+		engine.start();
+		for (int i = 0; i < 500 && engine.isRunning(); i++)
+			Thread.sleep(10);
+		assertFalse(engine.isRunning());
+		assertSame(boom, engine.lastError());
+	}
+
+	@Test
+	public void unlimitedSpeedLogsOncePerFrame() throws InterruptedException
+	{
+		DataSet<double[]> data = new DataSet<>(6);
+		SimEngine engine = new SimEngine(new MassSpringSim(), data);
+		engine.setDt(1e-4);
+		engine.setRealTime(true);
+		engine.setTimeScale(Double.POSITIVE_INFINITY);
+		engine.reset(params());
+
+		long t0 = System.nanoTime();
+		engine.start();
+		Thread.sleep(300);
+		engine.pause();
+		double frames = (System.nanoTime() - t0) / 16e6;
+
+		double t = engine.simulation().snapshot()[0];
+		assertTrue(t / 1e-4 > 10 * data.size(), "steps not thinned out: "
+				+ data.size() + " rows for t=" + t);
+		assertTrue(data.size() <= frames + 2, data.size() + " rows in "
+				+ frames + " frames");
+	}
+
+	// ---- Helper: the GUI's default oscillator ----
+	private static Map<String, Double> params()
+	{
+		Map<String, Double> p = new HashMap<>();
+		p.put("m", 1.0);
+		p.put("k", 20.0);
+		p.put("x0", 0.2);
+		return p;
+	}
+}
@@ -0,0 +1,164 @@
+package physicssim;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Lead Author(s):
+ * @author Arthur Nguyen
+ *
+ * Version/date: October 17, 2026
+ *
+ * SpringNetworkTest
+ *
+ * Parallel stepping must not change the result: the same cloth stepped
+ * with 1, 2, 4 and 8 workers ends in bit-identical positions and
+ * velocities, explicitly and with the implicit (CG) solve.
+ * The implicit schemes are checked on a two-node chain, which is a single
+ * damped oscillator along x: against LinearOscillator, for their order
+ * (backward Euler first, midpoint second), and for midpoint's energy
+ * conservation on a stiff chain at a frame-sized step.
+ */
+
+public class SpringNetworkTest
+{
+	private static final int[] THREADS = { 1, 2, 4, 8 };
+	private static final double M = 1.0, K = 20.0, C = 0.8, X0 = 0.2;
+	private static final double SECONDS = 2.0;
+	private static final double[] DTS = { 0.02, 0.01, 0.005, 0.0025 };
+
+	@Test
+	public void explicitStepIsIndependentOfThreadCount()
+	{
+		assertSameForAllThreadCounts(Integrator.SEMI_IMPLICIT_EULER, 1e-3);
+	}
+
+	@Test
+	public void implicitStepIsIndependentOfThreadCount()
+	{
+		assertSameForAllThreadCounts(Integrator.IMPLICIT_MIDPOINT, 1e-2);
+	}
+
+	@Test
+	public void twoNodeMidpointMatchesLinearOscillator()
+	{
+		assertTrue(error(Integrator.IMPLICIT_MIDPOINT, 1e-3) < 1e-5);
+	}
+
+	@Test
+	public void backwardEulerIsFirstOrder()
+	{
+		assertOrder(Integrator.BACKWARD_EULER, 1.0, 0.2);
+	}
+
+	@Test
+	public void midpointIsSecondOrder()
+	{
+		assertOrder(Integrator.IMPLICIT_MIDPOINT, 2.0, 0.05);
+	}
+
+	@Test
+	public void midpointConservesEnergyWhenStiff()
+	{
+		// √(m/k) = 1 ms: sixty-fold beyond explicit stability at 1/60 s
+		SpringNetwork net = SpringNetwork.chain(50, 0.1, 1.0, 1e6, 0.0);
+		net.setIntegrator(Integrator.IMPLICIT_MIDPOINT);
+		net.setSolver(1e-13, 1000);
+		Map<String, Double> p = new HashMap<>();
+		p.put("x0", 0.01);
+		net.reset(p);
+
+		double e0 = net.kineticEnergy() + net.potentialEnergy();
+		for (int i = 0; i < 600; i++)
+			net.step(1.0 / 60);
+		double e = net.kineticEnergy() + net.potentialEnergy();
+		assertEquals(e0, e, 1e-9 * e0, "energy after 600 steps");
+	}
+
+	// ---- Helper: observed order of every dt halving, within tol ----
+	private static void assertOrder(Integrator integrator, double expected,
+			double tol)
+	{
+		double prev = error(integrator, DTS[0]);
+		for (int i = 1; i < DTS.length; i++)
+		{
+			double e = error(integrator, DTS[i]);
+			double p = Math.log(prev / e) / Math.log(2.0);
+			assertEquals(expected, p, tol,
+					integrator + " dt=" + DTS[i] + ": observed order");
+			prev = e;
+		}
+	}
+
+	// ---- Helper: two-node chain vs the closed form, |dx| + |dv| ----
+	private static double error(Integrator integrator, double dt)
+	{
+		SpringNetwork net = SpringNetwork.chain(2, 1.0, M, K, C);
+		net.setIntegrator(integrator);
+		net.setSolver(1e-14, 100);
+		Map<String, Double> p = new HashMap<>();
+		p.put("x0", X0);
+		net.reset(p);
+
+		long steps = Math.round(SECONDS / dt);
+		for (long i = 0; i < steps; i++)
+			net.step(dt);
+
+		double[] s = net.snapshot(); // [t, x, v, ...] of the free node
+		double[] exact = new double[2];
+		LinearOscillator.evaluate(M, K, C, X0, 0.0, s[0], exact);
+		return Math.abs(s[1] - exact[0]) + Math.abs(s[2] - exact[1]);
+	}
+
+	// ---- Helper: every thread count reproduces the single-threaded run ----
+	private static void assertSameForAllThreadCounts(Integrator integrator,
+			double dt)
+	{
+		double[][] expected = null;
+		for (int threads : THREADS)
+		{
+			// 96 × 96 = 9216 nodes: 9 blocks, so 8 workers all get work
+			double[][] state;
+			try (SpringNetwork net = SpringNetwork.grid(96, 96, 0.1, 0.01,
+					50.0, 0.02, true))
+			{
+				net.setIntegrator(integrator);
+				net.setThreads(threads);
+				assertEquals(threads, net.getThreads());
+				Map<String, Double> p = new HashMap<>();
+				p.put("g", 9.81);
+				p.put("x0", 0.05);
+				net.reset(p);
+				for (int i = 0; i < 20; i++)
+					net.step(dt);
+				state = state(net);
+			}
+			if (expected == null) expected = state;
+			else
+				for (int q = 0; q < state.length; q++)
+					assertArrayEquals(expected[q], state[q],
+							integrator + ", " + threads + " threads");
+		}
+	}
+
+	// ---- Helper: x, y, vx, vy of every node ----
+	private static double[][] state(SpringNetwork net)
+	{
+		int n = net.size();
+		double[][] s = new double[4][n];
+		for (int i = 0; i < n; i++)
+		{
+			s[0][i] = net.x(i);
+			s[1][i] = net.y(i);
+			s[2][i] = net.vx(i);
+			s[3][i] = net.vy(i);
+		}
+		return s;
+	}
+}
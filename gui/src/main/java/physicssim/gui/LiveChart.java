@@ -0,0 +1,166 @@
+package physicssim.gui;
+
+import javax.swing.*;
+import java.awt.*;
+
+import physicssim.DataSet;
+import physicssim.M4Downsampler;
+
+/**
+ * Lead Author(s):
+ * @author Arthur Nguyen
+ *
+ * Version/date: October 17, 2026
+ *
+ * LiveChart
+ *
+ * Base for the live plots under the canvas. Each paint takes the last
+ * window seconds of the DataSet (or all of it), lets M4Downsampler pick
+ * at most a few samples per pixel column, and hands those indices to the
+ * subclass to draw—so a chart costs O(width) to draw however many
+ * samples are logged. Safe to paint while the simulation thread keeps
+ * appending (columnar DataSet): size and ring head are read once per
+ * paint, and subclasses index samples through that head.
+ */
+
+public abstract class LiveChart extends JComponent
+{
+	private static final long serialVersionUID = 1L;
+
+	// ===== Shared look =====
+	static final Color GRID = new Color(235, 235, 235);
+	static final Color AXIS_TEXT = new Color(110, 110, 110);
+	static final Font FONT = new Font("SansSerif", Font.PLAIN, 11);
+	static final BasicStroke LINE = new BasicStroke(1.2f);
+	static final int PAD_LEFT = 46, PAD_RIGHT = 8, PAD_TOP = 18,
+			PAD_BOTTOM = 8;
+
+	protected final DataSet<double[]> data; // live log (row = x..E)
+	private final String title;
+	private double window = 10.0; // seconds of history shown (0 = all)
+
+	private M4Downsampler downsampler; // created on first paint
+
+	// ===== Per-paint scratch, reused =====
+	protected int[] idx = new int[0]; // selected sample indices
+	protected int head; // data.headIndex() of this paint: use time(k, head)
+	private final Dimension size = new Dimension();
+	private final StringBuilder text = new StringBuilder(32);
+	private char[] chars = new char[32];
+
+	protected LiveChart(DataSet<double[]> data, String title)
+	{
+		this.data = data;
+		this.title = title;
+		setOpaque(true);
+		setPreferredSize(new Dimension(220, 170));
+	}
+
+	/** Seconds of simulated history to show; 0 shows everything. */
+	public void setWindow(double seconds)
+	{
+		this.window = Math.max(0, seconds);
+		repaint();
+	}
+
+	/** Row columns (0 = x) the chart plots; extremes of each are kept. */
+	protected abstract int[] columns();
+
+	/**
+	 * Draw the count selected samples idx[0..count) into the plot
+	 * rectangle (px, py, pw, ph); t0..t1 is the time span shown.
+	 */
+	protected abstract void plot(Graphics2D g2, int px, int py, int pw,
+			int ph, int count, double t0, double t1);
+
+	@Override
+	protected void paintComponent(Graphics g)
+	{
+		Graphics2D g2 = (Graphics2D) g;
+		getSize(size);
+		g2.setColor(Color.WHITE);
+		g2.fillRect(0, 0, size.width, size.height);
+		g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+				RenderingHints.VALUE_ANTIALIAS_ON);
+
+		int px = PAD_LEFT, py = PAD_TOP;
+		int pw = size.width - PAD_LEFT - PAD_RIGHT;
+		int ph = size.height - PAD_TOP - PAD_BOTTOM;
+		g2.setFont(FONT);
+		g2.setColor(Color.BLACK);
+		g2.drawString(title, PAD_LEFT, 13);
+		g2.setColor(GRID);
+		g2.drawRect(px, py, Math.max(0, pw), Math.max(0, ph));
+
+		// one snapshot of the log per paint: a full ring moves its head on
+		// every add, so every lookup below goes through this head
+		int n = data.size(); // samples fully written so far
+		head = data.headIndex();
+		if (n < 2 || pw < 2 || ph < 2) return;
+
+		double t1 = data.time(n - 1, head);
+		double t0 = data.time(0, head);
+		if (window > 0 && t1 - window > t0) t0 = t1 - window;
+		int from = M4Downsampler.firstAtOrAfter(data, t0, n, head);
+
+		if (downsampler == null)
+			downsampler = new M4Downsampler(data, columns());
+		int need = downsampler.capacity(pw);
+		if (idx.length < need) idx = new int[need];
+		int count = downsampler.select(from, n, head, t0, t1, pw, idx);
+		plot(g2, px, py, pw, ph, count, t0, t1);
+	}
+
+	// ---- Helpers for subclasses ----
+
+	/** Smallest and largest value of column col over the selection. */
+	protected void range(int col, int count, double[] minMax)
+	{
+		double lo = Double.POSITIVE_INFINITY, hi = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < count; i++)
+		{
+			double v = data.value(idx[i], head, col);
+			if (v < lo) lo = v;
+			if (v > hi) hi = v;
+		}
+		if (!(hi > lo)) // flat or empty: open up a small band
+		{
+			double pad = Math.max(1e-9, Math.abs(lo) * 0.05);
+			lo -= pad;
+			hi += pad;
+		}
+		minMax[0] = lo;
+		minMax[1] = hi;
+	}
+
+	/**
+	 * Draw label + value with fixed decimals without String.format
+	 * (decimals < 0: short scientific notation, for tiny spans).
+	 */
+	protected void drawLabel(Graphics2D g2, String label, double value,
+			int decimals, int x, int y)
+	{
+		text.setLength(0);
+		text.append(label);
+		if (decimals < 0 && value != 0 && Double.isFinite(value))
+		{
+			int exp = (int) Math.floor(Math.log10(Math.abs(value)));
+			MassSpringRenderer.appendFixed(text, value / Math.pow(10, exp), 2);
+			text.append('e').append(exp);
+		}
+		else MassSpringRenderer.appendFixed(text, value, Math.max(0, decimals));
+		if (chars.length < text.length()) chars = new char[text.length() * 2];
+		text.getChars(0, text.length(), chars, 0);
+		g2.drawChars(chars, 0, text.length(), x, y);
+	}
+
+	/**
+	 * Decimals that show about three significant digits of span, or -1
+	 * when the span is too small for fixed notation.
+	 */
+	protected static int decimalsFor(double span)
+	{
+		int d = 2 - (int) Math.floor(Math.log10(span));
+		return d > 8 ? -1 : Math.max(0, d);
+	}
+}
@@ -0,0 +1,177 @@
+package physicssim.gui;
+
+import java.awt.*;
+import java.awt.geom.Path2D;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+
+import physicssim.SimEngine;
+
+/**
+ * Lead Author(s):
+ * @author Arthur Nguyen
+ *
+ * Version/date: October 17, 2026
+ *
+ * MassSpringRenderer
+ *
+ * Draws a single mass on a spring (anchor, zig-zag spring, block and a
+ * t/x/v text overlay). Works for any SimModel whose snapshot follows the
+ * [t, x, v, ...] layout: the live MassSpringSim as well as a TraceReplay.
+ * Purely visual—does not change physics state.
+ *
+ * Painting allocates nothing per frame: the static layer (background,
+ * baseline, anchor) is cached in an image that is rebuilt only when the
+ * canvas size changes, paint objects are shared constants, the spring is
+ * one reused Path2D and the overlay text is built in a reused buffer.
+ */
+
+public class MassSpringRenderer
+{
+	// ===== Visual settings (drawing only) =====
+	private final double pixelsPerMeter = 200.0; // scale: meters → pixels
+	private final int leftMarginPx = 80; // space from anchor to x=0 reference
+	private static final int ANCHOR_X = 40, BLOCK_W = 60, BLOCK_H = 40;
+	private static final int COILS = 8, COIL_AMP = 12;
+
+	// ===== Shared paint objects (never created per frame) =====
+	private static final Color BASELINE = new Color(230, 230, 230);
+	private static final Color SPRING = new Color(90, 90, 90);
+	private static final Color BLOCK = new Color(60, 120, 200);
+	private static final Color TEXT = new Color(20, 20, 20);
+	private static final BasicStroke SPRING_STROKE = new BasicStroke(2f);
+	private static final Font FONT = new Font("SansSerif", Font.PLAIN, 12);
+
+	// ===== Per-frame scratch, reused =====
+	private final double[] sample = new double[7]; // snapshot buffer
+	private final Path2D.Float spring = new Path2D.Float(Path2D.WIND_NON_ZERO,
+			COILS * 2 + 2);
+	private final RoundRectangle2D.Float block = new RoundRectangle2D.Float();
+	private final StringBuilder text = new StringBuilder(64);
+	private char[] chars = new char[64];
+
+	// ===== Static layer cache (rebuilt on resize) =====
+	private BufferedImage staticLayer;
+
+	/** Draw the model's current state on the given canvas. */
+	public void render(Graphics2D g2, Dimension size, SimEngine.SimModel model)
+	{
+		model.snapshotInto(sample, 0);
+		render(g2, size, sample);
+	}
+
+	/**
+	 * Draw a given [t, x, v, ...] state, e.g. the engine's interpolated
+	 * renderStateInto.
+	 */
+	public void render(Graphics2D g2, Dimension size, double[] state)
+	{
+		double t = state[0], x = state[1], v = state[2];
+		int cy = size.height / 2;
+
+		// Background, baseline and anchor from the cached layer
+		g2.drawImage(staticLayer(g2, size), 0, 0, null);
+		g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+				RenderingHints.VALUE_ANTIALIAS_ON);
+
+		// Compute current block position in pixels from displacement x (meters)
+		int blockX = (int) (ANCHOR_X + leftMarginPx + x * pixelsPerMeter);
+		int span = Math.max(10, blockX - ANCHOR_X);
+
+		// Zig-zag spring between anchor and block, as one path
+		spring.reset();
+		spring.moveTo(ANCHOR_X, cy);
+		for (int i = 1; i <= COILS * 2; i++)
+			spring.lineTo(ANCHOR_X + (i * span) / (COILS * 2),
+					cy + ((i % 2 == 0) ? -COIL_AMP : COIL_AMP));
+		spring.lineTo(blockX, cy);
+		g2.setStroke(SPRING_STROKE);
+		g2.setColor(SPRING);
+		g2.draw(spring);
+
+		// Draw the block
+		block.setRoundRect(blockX, cy - BLOCK_H / 2, BLOCK_W, BLOCK_H, 10, 10);
+		g2.setColor(BLOCK);
+		g2.fill(block);
+		g2.setColor(Color.BLACK);
+		g2.draw(block);
+
+		// Small text overlay with t, x, v
+		text.setLength(0);
+		text.append("t=");
+		appendFixed(text, t, 2);
+		text.append("s  x=");
+		appendFixed(text, x, 3);
+		text.append("m  v=");
+		appendFixed(text, v, 3);
+		text.append("m/s");
+		if (chars.length < text.length()) chars = new char[text.length() * 2];
+		text.getChars(0, text.length(), chars, 0);
+		g2.setFont(FONT);
+		g2.setColor(TEXT);
+		g2.drawChars(chars, 0, text.length(), 10, 18);
+	}
+
+	/**
+	 * Background, baseline and anchor for this canvas size; drawn into a
+	 * compatible (accelerated when possible) image on first use or resize.
+	 */
+	private BufferedImage staticLayer(Graphics2D g2, Dimension size)
+	{
+		int w = Math.max(1, size.width), h = Math.max(1, size.height);
+		if (staticLayer != null && staticLayer.getWidth() == w
+				&& staticLayer.getHeight() == h)
+			return staticLayer;
+
+		if (staticLayer != null) staticLayer.flush();
+		staticLayer = g2.getDeviceConfiguration().createCompatibleImage(w, h);
+		Graphics2D lg = staticLayer.createGraphics();
+		try
+		{
+			lg.setColor(Color.WHITE);
+			lg.fillRect(0, 0, w, h);
+
+			// Center baseline for reference
+			int cy = h / 2;
+			lg.setColor(BASELINE);
+			lg.fillRect(0, cy - 1, w, 2);
+
+			// Fixed anchor at the left
+			lg.setColor(Color.DARK_GRAY);
+			lg.fillRect(20, cy - 30, 20, 60);
+		}
+		finally
+		{
+			lg.dispose();
+		}
+		return staticLayer;
+	}
+
+	/**
+	 * Append value rounded to the given decimals, like %.Nf but without
+	 * the formatter's allocations (falls back to plain append for values
+	 * too large to scale into a long).
+	 */
+	static void appendFixed(StringBuilder sb, double value, int decimals)
+	{
+		long pow = 1;
+		for (int i = 0; i < decimals; i++)
+			pow *= 10;
+		double scaled = Math.abs(value) * pow;
+		if (!(scaled < 9e18))
+		{
+			sb.append(value); // NaN, infinite or huge
+			return;
+		}
+
+		long r = Math.round(scaled);
+		if (value < 0) sb.append('-');
+		sb.append(r / pow);
+		if (decimals == 0) return;
+		sb.append('.');
+		long frac = r % pow;
+		for (long p = pow / 10; p > 1 && frac < p; p /= 10)
+			sb.append('0');
+		sb.append(frac);
+	}
+}
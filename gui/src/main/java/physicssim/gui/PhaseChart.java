@@ -0,0 +1,100 @@
+package physicssim.gui;
+
+import java.awt.*;
+import java.awt.geom.Path2D;
+
+import physicssim.DataSet;
+
+/**
+ * Lead Author(s):
+ * @author Arthur Nguyen
+ *
+ * Version/date: October 17, 2026
+ *
+ * PhaseChart
+ *
+ * Live phase-space plot: the (x, v) trajectory over the last window
+ * seconds, with the current state marked. Undamped motion traces an
+ * ellipse, damping spirals inward. The samples come from the same M4
+ * selection as the strip charts (extremes of both x and v kept per
+ * pixel column of time), so the curve keeps its turning points. When a
+ * pixel column of time spans whole oscillations, joining its extremes
+ * would cut straight across the ellipse; so only nearby points are
+ * joined and every kept sample is also drawn as a dot (all of them lie
+ * on the true trajectory).
+ */
+
+public class PhaseChart extends LiveChart
+{
+	private static final long serialVersionUID = 1L;
+
+	private static final int[] XV = { 0, 1 }; // row columns x and v
+	private static final Color TRACE = new Color(60, 120, 200);
+	private static final Color CURRENT = new Color(200, 60, 60);
+
+	// ===== Per-paint scratch, reused =====
+	private final Path2D.Float path = new Path2D.Float();
+	private final double[] xRange = new double[2], vRange = new double[2];
+
+	public PhaseChart(DataSet<double[]> data)
+	{
+		super(data, "Phase space (x, v)");
+	}
+
+	@Override
+	protected int[] columns()
+	{
+		return XV;
+	}
+
+	@Override
+	protected void plot(Graphics2D g2, int px, int py, int pw, int ph,
+			int count, double t0, double t1)
+	{
+		range(0, count, xRange);
+		range(1, count, vRange);
+		double sx = pw / (xRange[1] - xRange[0]);
+		double sy = ph / (vRange[1] - vRange[0]);
+
+		// Axes through the origin when it is in view
+		g2.setColor(GRID);
+		if (xRange[0] < 0 && xRange[1] > 0)
+		{
+			int ox = (int) (px - xRange[0] * sx);
+			g2.drawLine(ox, py, ox, py + ph);
+		}
+		if (vRange[0] < 0 && vRange[1] > 0)
+		{
+			int oy = (int) (py + ph + vRange[0] * sy);
+			g2.drawLine(px, oy, px + pw, oy);
+		}
+
+		path.reset();
+		g2.setColor(TRACE);
+		float maxJump = Math.max(pw, ph) / 8f; // longer = skipped motion
+		float x = 0, y = 0;
+		for (int i = 0; i < count; i++)
+		{
+			int k = idx[i];
+			float lx = x, ly = y;
+			x = (float) (px + (data.value(k, head, 0) - xRange[0]) * sx);
+			y = (float) (py + ph
+					- (data.value(k, head, 1) - vRange[0]) * sy);
+			if (i == 0 || Math.abs(x - lx) + Math.abs(y - ly) > maxJump)
+				path.moveTo(x, y);
+			else path.lineTo(x, y);
+			g2.fillRect((int) x, (int) y, 1, 1);
+		}
+		g2.setStroke(LINE);
+		g2.draw(path);
+		g2.setColor(CURRENT);
+		g2.fillOval((int) x - 3, (int) y - 3, 6, 6);
+
+		// Axis ranges
+		g2.setColor(AXIS_TEXT);
+		drawLabel(g2, "v ", vRange[1], decimalsFor(vRange[1] - vRange[0]), 4,
+				py + 10);
+		drawLabel(g2, "x ", xRange[1], decimalsFor(xRange[1] - xRange[0]),
+				px + pw - 60, py + ph - 4);
+	}
+}
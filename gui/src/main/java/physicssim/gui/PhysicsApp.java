@@ -0,0 +1,773 @@
+package physicssim.gui;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.List;
+
+import physicssim.BinaryTrace;
+import physicssim.DataSet;
+import physicssim.Integrator;
+import physicssim.MassSpringSim;
+import physicssim.SimEngine;
+import physicssim.StreamingCsvWriter;
+import physicssim.TraceReplay;
+
+/**
+ * Lead Author(s):
+ * @author Arthur Nguyen
+ * 
+ * Version/date: December 18, 2025
+ * 
+ * PhysicsApp
+ * 
+ * Builds the GUI (window, fields, buttons, canvas, live charts, status
+ * bar),
+ * wires user actions to the engine/model, and manages save/export.
+ * 
+ * Flow:
+ *  - User sets parameters → Run → engine steps continuously.
+ *  - Pause/Step/Reset control the engine.
+ *  - Save CSV writes the DataSet log to disk (a .bin name writes a
+ *    BinaryTrace instead).
+ *  - Record streams samples to a CSV file while the run is going.
+ *  - Open Trace replays a saved .bin trace with a time scrubber; any of
+ *    Run/Step/Reset goes back to the live simulation.
+ */
+
+public class PhysicsApp
+{
+	// ===== GUI widgets =====
+	private JFrame frame;
+	private JTextField mField, kField, cField, x0Field, v0Field, dtField;
+	private JTextField keepField; // ring capacity of the log (0 = all)
+	private JLabel status;
+	private JPanel canvas;
+	private JPanel charts; // x(t), v(t), energy and phase plots
+	private final List<LiveChart> chartList = new ArrayList<>();
+	private JComboBox<String> chartWindowBox; // history the charts show
+	private JComboBox<String> presetBox;
+	private JComboBox<Integrator> integratorBox;
+	private JComboBox<String> speedBox; // pacing: per frame, 1x .. unlimited
+	private JLabel rateLabel; // achieved steps/s while running
+	private JPanel replayBar; // play + scrubber, shown while replaying
+	private JToggleButton playBtn;
+	private JSlider scrub;
+
+	// ===== Core objects =====
+	private final DataSet<double[]> dataset = new DataSet<>(6); // x..E columns
+	private final MassSpringSim sim = new MassSpringSim(); // concrete model
+	private final SimEngine engine = new SimEngine(sim, dataset); // timekeeper
+	private final MassSpringRenderer renderer = new MassSpringRenderer();
+	private final double[] frameState = new double[7]; // state to draw
+	private StreamingCsvWriter recorder; // non-null while Record is on
+	private JToggleButton recordBtn; // Record toggle (cleared on reset)
+	private Throwable reportedError; // last sim-thread failure shown
+
+	// Speed box entries and their time scales (index 0: one step per frame)
+	private static final String[] SPEEDS = { "1 step / frame", "Real time",
+			"10×", "100×", "Unlimited" };
+	private static final double[] SPEED_SCALES = { 0, 1, 10, 100,
+			Double.POSITIVE_INFINITY };
+
+	// Chart window entries and their spans in simulated seconds (0 = all)
+	private static final String[] CHART_WINDOWS = { "Last 10 s", "Last 60 s",
+			"Everything" };
+	private static final double[] CHART_WINDOW_SECONDS = { 10, 60, 0 };
+
+	// ===== Replay of a recorded trace (null when live) =====
+	private static final int SCRUB_STEPS = 10_000; // slider resolution
+	private BinaryTrace trace;
+	private TraceReplay replay;
+	private javax.swing.Timer replayTimer;
+	private boolean syncingScrub; // true while code moves the slider
+
+	// Keep last good values so we can revert on invalid edits
+	private final Map<String, Double> lastGood = new HashMap<>();
+
+	/** Launch the app on the EDT (thread-safe for Swing). */
+	public static void main(String[] args)
+	{
+		EventQueue.invokeLater(() -> new PhysicsApp().initUI());
+	}
+
+	/** Build and show the entire user interface. */
+	private void initUI()
+	{
+		// ---- Main window and layout
+		frame = new JFrame("Mass–Spring Simulator");
+		frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+		frame.setLayout(new BorderLayout());
+
+		// ---- Toolbar (Run/Pause/Step/Reset/Save)
+		JToolBar bar = new JToolBar();
+		bar.setFloatable(false);
+		JButton runBtn = new JButton("Run ⏵");
+		JButton pauseBtn = new JButton("Pause ⏸");
+		JButton stepBtn = new JButton("Step ⏭");
+		JButton resetBtn = new JButton("Reset ⟲");
+		JButton saveBtn = new JButton("Save CSV ⤓");
+		recordBtn = new JToggleButton("Record ⏺");
+		JButton openBtn = new JButton("Open Trace…");
+		bar.add(runBtn);
+		bar.add(pauseBtn);
+		bar.add(stepBtn);
+		bar.add(resetBtn);
+		bar.addSeparator();
+		bar.add(saveBtn);
+		bar.add(recordBtn);
+		bar.addSeparator();
+		bar.add(openBtn);
+		frame.add(bar, BorderLayout.NORTH);
+
+		// ---- Left panel: parameters (m, k, c, x0, v0, dt, keep) + presets
+		JPanel left = new JPanel(new GridBagLayout());
+		left.setBorder(BorderFactory.createEmptyBorder(8, 8, 8, 8));
+		GridBagConstraints gc = new GridBagConstraints();
+		gc.insets = new Insets(4, 4, 4, 4);
+		gc.anchor = GridBagConstraints.WEST;
+		gc.fill = GridBagConstraints.HORIZONTAL;
+		gc.weightx = 1.0;
+
+		mField = new JTextField("1.0", 8);
+		kField = new JTextField("20.0", 8);
+		cField = new JTextField("0.0", 8);
+		x0Field = new JTextField("0.2", 8);
+		v0Field = new JTextField("0.0", 8);
+		dtField = new JTextField("0.016", 8);
+		keepField = new JTextField("0", 8);
+		keepField.setToolTipText(
+				"Log only the most recent N samples (0 = keep everything)");
+		integratorBox = new JComboBox<>(Integrator.values());
+		integratorBox.setToolTipText(
+				"Higher-order schemes stay accurate with a much larger Δt");
+
+		int r = 0;
+		addRow(left, gc, r++, "m (kg):", mField);
+		addRow(left, gc, r++, "k (N/m):", kField);
+		addRow(left, gc, r++, "c (N·s/m):", cField);
+		addRow(left, gc, r++, "x0 (m):", x0Field);
+		addRow(left, gc, r++, "v0 (m/s):", v0Field);
+		addRow(left, gc, r++, "Δt (s):", dtField);
+		addRow(left, gc, r++, "Integrator:", integratorBox);
+		addRow(left, gc, r++, "Keep last N:", keepField);
+
+		speedBox = new JComboBox<>(SPEEDS);
+		speedBox.setSelectedIndex(1); // real time
+		speedBox.setToolTipText("Simulated seconds per wall-clock second"
+				+ " (one step per frame: the old fixed pacing)");
+		speedBox.addActionListener(e -> applySpeed());
+		applySpeed();
+		addRow(left, gc, r++, "Speed:", speedBox);
+
+		chartWindowBox = new JComboBox<>(CHART_WINDOWS);
+		chartWindowBox.setToolTipText("Simulated history shown in the charts");
+		chartWindowBox.addActionListener(e -> {
+			double w = CHART_WINDOW_SECONDS[chartWindowBox.getSelectedIndex()];
+			for (LiveChart c : chartList)
+				c.setWindow(w);
+		});
+		addRow(left, gc, r++, "Chart window:", chartWindowBox);
+
+		presetBox = new JComboBox<>(new String[] { "Undamped", "Lightly Damped",
+				"Heavily Damped" });
+		JButton applyPreset = new JButton("Apply Preset");
+		JPanel presetRow = new JPanel(new BorderLayout(6, 0));
+		presetRow.add(presetBox, BorderLayout.CENTER);
+		presetRow.add(applyPreset, BorderLayout.EAST);
+		gc.gridx = 0;
+		gc.gridy = r++;
+		gc.gridwidth = 2;
+		left.add(presetRow, gc);
+
+		frame.add(left, BorderLayout.WEST);
+
+		// ---- Canvas in the center (delegates drawing to the renderer)
+		canvas = new JPanel()
+		{
+			private final Dimension size = new Dimension(); // reused
+
+			@Override
+			protected void paintComponent(Graphics g)
+			{
+				// no super.paintComponent: the renderer paints every pixel
+				getSize(size);
+				if (replay != null)
+					renderer.render((Graphics2D) g, size, replay);
+				else
+				{
+					engine.renderStateInto(frameState); // interpolated
+					renderer.render((Graphics2D) g, size, frameState);
+				}
+			}
+		};
+		canvas.setPreferredSize(new Dimension(800, 400));
+		canvas.setBackground(Color.WHITE);
+
+		// ---- Live charts under the canvas (read the same DataSet)
+		chartList.add(new StripChart(dataset, "Displacement", new int[] { 0 },
+				new String[] { "x" }, new Color[] { new Color(60, 120, 200) }));
+		chartList.add(new StripChart(dataset, "Velocity", new int[] { 1 },
+				new String[] { "v" }, new Color[] { new Color(200, 120, 40) }));
+		chartList.add(new StripChart(dataset, "Energy", new int[] { 3, 4, 5 },
+				new String[] { "KE", "PE", "E" },
+				new Color[] { new Color(200, 60, 60), new Color(60, 160, 80),
+						Color.BLACK }));
+		chartList.add(new PhaseChart(dataset));
+		charts = new JPanel(new GridLayout(1, chartList.size(), 1, 0));
+		charts.setBackground(LiveChart.GRID);
+		for (LiveChart c : chartList)
+			charts.add(c);
+
+		JPanel center = new JPanel(new BorderLayout());
+		center.add(canvas, BorderLayout.CENTER);
+		center.add(charts, BorderLayout.SOUTH);
+		frame.add(center, BorderLayout.CENTER);
+
+		// ---- Replay bar (hidden until a trace is opened) + status bar
+		playBtn = new JToggleButton("Play ⏵");
+		scrub = new JSlider(0, SCRUB_STEPS, 0);
+		JButton closeTraceBtn = new JButton("Close");
+		replayBar = new JPanel(new BorderLayout(6, 0));
+		replayBar.setBorder(BorderFactory.createEmptyBorder(4, 8, 0, 8));
+		replayBar.add(playBtn, BorderLayout.WEST);
+		replayBar.add(scrub, BorderLayout.CENTER);
+		replayBar.add(closeTraceBtn, BorderLayout.EAST);
+		replayBar.setVisible(false);
+
+		status = new JLabel("Ready.");
+		status.setBorder(BorderFactory.createEmptyBorder(6, 8, 6, 8));
+		rateLabel = new JLabel(" ");
+		rateLabel.setBorder(BorderFactory.createEmptyBorder(6, 8, 6, 8));
+		JPanel statusRow = new JPanel(new BorderLayout());
+		statusRow.add(status, BorderLayout.CENTER);
+		statusRow.add(rateLabel, BorderLayout.EAST);
+		JPanel south = new JPanel(new BorderLayout());
+		south.add(replayBar, BorderLayout.NORTH);
+		south.add(statusRow, BorderLayout.SOUTH);
+		frame.add(south, BorderLayout.SOUTH);
+
+		// ---- Button actions (what happens when clicked)
+		runBtn.addActionListener(e -> {
+			try
+			{
+				applyParams();
+				engine.start();
+				setStatus("Running…");
+			}
+			catch (IllegalArgumentException | IllegalStateException ex)
+			{
+				showError(ex.getMessage());
+			}
+		});
+		pauseBtn.addActionListener(e -> {
+			engine.pause();
+			setStatus("Paused.");
+		});
+		stepBtn.addActionListener(e -> {
+			try
+			{
+				if (engine.isRunning()) return; // only step when paused
+				applyParams();
+				engine.stepOnce(); // one dt step
+				canvas.repaint(); // redraw to show change
+				charts.repaint();
+				setStatus("Stepped once.");
+			}
+			catch (IllegalArgumentException | IllegalStateException ex)
+			{
+				showError(ex.getMessage());
+			}
+		});
+		resetBtn.addActionListener(e -> {
+			try
+			{
+				applyParams();
+				engine.pause();
+				canvas.repaint();
+				charts.repaint();
+				setStatus("Reset.");
+			}
+			catch (IllegalArgumentException | IllegalStateException ex)
+			{
+				showError(ex.getMessage());
+			}
+		});
+		saveBtn.addActionListener(e -> doSave());
+		openBtn.addActionListener(e -> openTrace());
+		closeTraceBtn.addActionListener(e -> {
+			closeTrace();
+			setStatus("Ready.");
+		});
+		playBtn.addActionListener(e -> {
+			if (replay == null) return;
+			if (playBtn.isSelected() && replay.atEnd())
+				replay.seek(replay.startTime()); // play again from the top
+			if (playBtn.isSelected()) replayTimer.start();
+			else replayTimer.stop();
+		});
+		scrub.addChangeListener(e -> {
+			if (replay == null || syncingScrub) return;
+			double span = replay.endTime() - replay.startTime();
+			replay.seek(replay.startTime()
+					+ span * scrub.getValue() / SCRUB_STEPS);
+			canvas.repaint();
+			showReplayStatus();
+		});
+		recordBtn.addActionListener(e -> {
+			if (recordBtn.isSelected())
+			{
+				if (!startRecording()) recordBtn.setSelected(false);
+			}
+			else stopRecording();
+		});
+
+		// ---- Validate inputs on focus loss (revert to last good if bad)
+		List<JTextField> fields = Arrays.asList(mField, kField, cField, x0Field,
+				v0Field, dtField, keepField);
+		for (JTextField tf : fields)
+		{
+			tf.addFocusListener(new FocusAdapter()
+			{
+				String old = tf.getText();
+
+				@Override
+				public void focusGained(FocusEvent e)
+				{
+					old = tf.getText();
+				}
+
+				@Override
+				public void focusLost(FocusEvent e)
+				{
+					try
+					{
+						parseParams();
+						old = tf.getText();
+						setStatus("Ready.");
+					}
+					catch (IllegalArgumentException ex)
+					{
+						tf.setText(old);
+						showError(ex.getMessage());
+					}
+				}
+			});
+		}
+
+		// ---- Presets (quick parameter fills)
+		applyPreset.addActionListener(e -> {
+			String p = (String) presetBox.getSelectedItem();
+			if ("Undamped".equals(p))
+			{
+				cField.setText("0.0");
+				x0Field.setText("0.2");
+				v0Field.setText("0.0");
+			}
+			else if ("Lightly Damped".equals(p))
+			{
+				cField.setText("0.8");
+				x0Field.setText("0.2");
+				v0Field.setText("0.0");
+			}
+			else if ("Heavily Damped".equals(p))
+			{
+				cField.setText("5.0");
+				x0Field.setText("0.2");
+				v0Field.setText("0.0");
+			}
+			setStatus("Preset applied.");
+		});
+
+		// ---- Initialize sim once with defaults
+		try
+		{
+			applyParams();
+		}
+		catch (IllegalArgumentException ex)
+		{
+			showError(ex.getMessage());
+		}
+
+		// ---- Lightweight repaint timer (~30 FPS) → repaint only while running
+		// (the canvas draws whatever frame the engine published last); also
+		// reports an exception that stopped the simulation thread
+		new javax.swing.Timer(33, e -> {
+			if (engine.isRunning())
+			{
+				canvas.repaint();
+				charts.repaint();
+				rateLabel.setText(String.format("%,.0f steps/s",
+						engine.stepsPerSecond()));
+				return;
+			}
+			rateLabel.setText(" ");
+			Throwable err = engine.lastError();
+			if (err != null && err != reportedError)
+			{
+				reportedError = err;
+				canvas.repaint(); // show where it stopped
+				charts.repaint();
+				showError("Simulation stopped: " + (err.getMessage() != null
+						? err.getMessage()
+						: err.getClass().getSimpleName()));
+			}
+		}).start();
+
+		// ---- Show window
+		frame.pack();
+		frame.setLocationByPlatform(true);
+		frame.setVisible(true);
+	}
+
+	// Helper to add a labeled field row to the left panel
+	private void addRow(JPanel panel, GridBagConstraints gc, int row,
+			String label, JComponent field)
+	{
+		gc.gridx = 0;
+		gc.gridy = row;
+		gc.gridwidth = 1;
+		panel.add(new JLabel(label), gc);
+		gc.gridx = 1;
+		gc.gridy = row;
+		panel.add(field, gc);
+	}
+
+	/**
+	 * Speed box → engine pacing: one step per frame, or real time at the
+	 * chosen time scale (unlimited = as many steps as fit in a frame, with
+	 * one logged sample per frame so the charts' DataSet stays small).
+	 */
+	private void applySpeed()
+	{
+		int i = speedBox.getSelectedIndex();
+		engine.setRealTime(i > 0);
+		if (i > 0) engine.setTimeScale(SPEED_SCALES[i]);
+	}
+
+	/**
+	 * Parse, validate, and apply parameters:
+	 * - pause the engine (callers restart it as needed),
+	 * - leave replay mode (the live simulation takes the canvas back),
+	 * - finish a recording (the new run restarts t at 0, so it must not
+	 *   append to the old file),
+	 * - set engine dt, the integrator and the log's ring capacity,
+	 * - reset the simulation (clears dataset and logs t=0).
+	 */
+	private void applyParams()
+	{
+		Map<String, Double> p = parseParams();
+		engine.pause(); // the simulation thread owns sim + dataset
+		closeTrace();
+		StreamingCsvWriter finished = recorder;
+		if (finished != null)
+		{
+			stopRecording();
+			recordBtn.setSelected(false);
+			if (!finished.isClosed())
+				throw new IllegalStateException(
+						"recording to " + finished.file().getName()
+								+ " is still open");
+		}
+		engine.setDt(p.get("dt"));
+		sim.setIntegrator((Integrator) integratorBox.getSelectedItem());
+		dataset.setRingCapacity(p.get("keep").intValue());
+		engine.reset(p);
+	}
+
+	/**
+	 * Read numbers from text fields, validate, remember last-good, and return a
+	 * map.
+	 */
+	private Map<String, Double> parseParams()
+	{
+		double m = parsePositive(mField.getText().trim(), "`m` must be > 0");
+		double k = parsePositive(kField.getText().trim(), "`k` must be > 0");
+		double c = parseNonNegative(cField.getText().trim(), "`c` must be ≥ 0");
+		double x0 = parseDouble(x0Field.getText().trim(),
+				"`x0` must be a number");
+		double v0 = parseDouble(v0Field.getText().trim(),
+				"`v0` must be a number");
+		double dt = parsePositive(dtField.getText().trim(), "`Δt` must be > 0");
+		double keep = parseCount(keepField.getText().trim(),
+				"`Keep last N` must be a whole number ≥ 0");
+
+		Map<String, Double> p = new HashMap<>();
+		p.put("m", m);
+		p.put("k", k);
+		p.put("c", c);
+		p.put("x0", x0);
+		p.put("v0", v0);
+		p.put("dt", dt);
+		p.put("keep", keep);
+
+		lastGood.putAll(p); // keep a safe copy for error recovery
+		return p;
+	}
+
+	// Small parsing helpers with clear messages
+	private static double parseDouble(String s, String err)
+	{
+		try
+		{
+			return Double.parseDouble(s);
+		}
+		catch (Exception e)
+		{
+			throw new IllegalArgumentException(err);
+		}
+	}
+
+	private static double parsePositive(String s, String err)
+	{
+		double v = parseDouble(s, err);
+		if (v <= 0) throw new IllegalArgumentException(err);
+		return v;
+	}
+
+	private static double parseNonNegative(String s, String err)
+	{
+		double v = parseDouble(s, err);
+		if (v < 0) throw new IllegalArgumentException(err);
+		return v;
+	}
+
+	private static double parseCount(String s, String err)
+	{
+		double v = parseNonNegative(s, err);
+		if (v != Math.rint(v) || v > Integer.MAX_VALUE - 8)
+			throw new IllegalArgumentException(err);
+		return v;
+	}
+
+	/**
+	 * Show a save dialog and write the DataSet to CSV (or show an error).
+	 * A file name ending in .bin saves a binary trace instead. While
+	 * recording, the streamed CSV is flushed and copied. The engine is
+	 * paused while writing, since its thread appends to the same log.
+	 */
+	private void doSave()
+	{
+		JFileChooser fc = new JFileChooser();
+		fc.setSelectedFile(new File("mass_spring_" + timestamp() + ".csv"));
+		int r = fc.showSaveDialog(frame);
+		if (r == JFileChooser.APPROVE_OPTION)
+		{
+			File f = fc.getSelectedFile();
+			boolean binary = f.getName().toLowerCase()
+					.endsWith(BinaryTrace.EXTENSION);
+			boolean resume = engine.isRunning();
+			engine.pause();
+			try
+			{
+				if (binary && recorder != null)
+				{
+					showError("Stop recording to save a binary trace.");
+					return;
+				}
+				if (binary)
+				{
+					BinaryTrace.write(f, engine.headerWithT(), dataset);
+					setStatus("Saved " + f.getName() + " (" + dataset.size()
+							+ " rows).");
+					return;
+				}
+				if (recorder != null)
+				{
+					recorder.flush();
+					if (!f.equals(recorder.file()))
+						Files.copy(recorder.file().toPath(), f.toPath(),
+								StandardCopyOption.REPLACE_EXISTING);
+					setStatus("Saved " + f.getName() + " ("
+							+ recorder.rowsAccepted() + " rows).");
+					return;
+				}
+				dataset.toCSV(f,
+						new String[] { "t", "x", "v", "a", "KE", "PE", "E" });
+				setStatus("Saved " + f.getName() + " (" + dataset.size()
+						+ " rows).");
+			}
+			catch (Exception ex)
+			{
+				showError("Failed to save: " + ex.getMessage());
+			}
+			finally
+			{
+				if (resume) engine.start();
+			}
+		}
+	}
+
+	/**
+	 * Ask for a file and stream every logged sample into it. The in-memory
+	 * log is paused meanwhile, so memory stays flat on long runs.
+	 * 
+	 * @return false if the user cancelled or the file could not be opened.
+	 */
+	private boolean startRecording()
+	{
+		JFileChooser fc = new JFileChooser();
+		fc.setSelectedFile(
+				new File("mass_spring_" + timestamp() + "_stream.csv"));
+		if (fc.showSaveDialog(frame) != JFileChooser.APPROVE_OPTION)
+			return false;
+
+		try
+		{
+			recorder = new StreamingCsvWriter(fc.getSelectedFile(),
+					engine.headerWithT(), engine.headerWithT().length);
+		}
+		catch (IOException ex)
+		{
+			showError("Failed to record: " + ex.getMessage());
+			return false;
+		}
+		boolean resume = engine.isRunning();
+		engine.pause(); // switch sinks between two ticks
+		engine.setSink(recorder);
+		engine.setRecordInMemory(false);
+		if (resume) engine.start();
+		setStatus("Recording to " + recorder.file().getName() + "…");
+		return true;
+	}
+
+	/** Finish the streamed file and go back to logging in memory. */
+	private void stopRecording()
+	{
+		if (recorder == null) return;
+		boolean resume = engine.isRunning();
+		engine.pause(); // the simulation thread is done with recorder
+		engine.setSink(null);
+		engine.setRecordInMemory(true);
+		if (resume) engine.start();
+		try
+		{
+			recorder.close();
+			setStatus("Recorded " + recorder.file().getName() + " ("
+					+ recorder.rowsAccepted() + " rows).");
+		}
+		catch (IOException ex)
+		{
+			showError("Failed to record: " + ex.getMessage());
+		}
+		recorder = null;
+	}
+
+	/**
+	 * Pick a .bin trace, memory-map it and switch the canvas to replay mode
+	 * (the live simulation is paused).
+	 */
+	private void openTrace()
+	{
+		JFileChooser fc = new JFileChooser();
+		if (fc.showOpenDialog(frame) != JFileChooser.APPROVE_OPTION) return;
+
+		BinaryTrace opened = null;
+		try
+		{
+			opened = BinaryTrace.open(fc.getSelectedFile());
+			TraceReplay r = new TraceReplay(opened);
+			closeTrace();
+			engine.pause();
+			trace = opened;
+			replay = r;
+		}
+		catch (IOException | IllegalArgumentException ex)
+		{
+			closeQuietly(opened);
+			showError("Failed to open trace: " + ex.getMessage());
+			return;
+		}
+
+		// ~60 FPS playback in recorded time (1 s of trace per second)
+		replayTimer = new javax.swing.Timer(16, e -> {
+			replay.step(0.016);
+			syncScrub();
+			canvas.repaint();
+			showReplayStatus();
+			if (replay.atEnd())
+			{
+				replayTimer.stop();
+				playBtn.setSelected(false);
+			}
+		});
+		playBtn.setSelected(false);
+		replayBar.setVisible(true);
+		syncScrub();
+		canvas.repaint();
+		showReplayStatus();
+		frame.revalidate();
+	}
+
+	/** Leave replay mode and release the mapped file (no-op when live). */
+	private void closeTrace()
+	{
+		if (trace == null) return;
+		replayTimer.stop();
+		replayTimer = null;
+		replay = null;
+		closeQuietly(trace);
+		trace = null;
+		replayBar.setVisible(false);
+		canvas.repaint();
+		frame.revalidate();
+	}
+
+	// Move the slider to the playback time without seeking again
+	private void syncScrub()
+	{
+		double span = replay.endTime() - replay.startTime();
+		syncingScrub = true;
+		scrub.setValue(span <= 0 ? 0
+				: (int) Math.round(SCRUB_STEPS
+						* (replay.time() - replay.startTime()) / span));
+		syncingScrub = false;
+	}
+
+	private void showReplayStatus()
+	{
+		setStatus(String.format("Replay: t=%.3fs  (sample %d of %d)",
+				replay.time(), replay.row() + 1, replay.rows()));
+	}
+
+	private static void closeQuietly(BinaryTrace t)
+	{
+		if (t == null) return;
+		try
+		{
+			t.close();
+		}
+		catch (IOException ignored)
+		{
+			// read-only mapping: nothing to lose
+		}
+	}
+
+	/** Filename-friendly timestamp for exported CSVs. */
+	private static String timestamp()
+	{
+		java.time.LocalDateTime now = java.time.LocalDateTime.now();
+		return String.format("%04d-%02d-%02d_%02d-%02d-%02d", now.getYear(),
+				now.getMonthValue(), now.getDayOfMonth(), now.getHour(),
+				now.getMinute(), now.getSecond());
+	}
+
+	/** Pop an error dialog and reflect it in the status bar. */
+	private void showError(String msg)
+	{
+		JOptionPane.showMessageDialog(frame, msg, "Invalid Input",
+				JOptionPane.ERROR_MESSAGE);
+		status.setText("Error: " + msg);
+	}
+
+	/** Convenience for the status bar text. */
+	private void setStatus(String msg)
+	{
+		status.setText(msg);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,100 @@
+package physicssim.gui;
+
+import java.awt.*;
+import java.awt.geom.Path2D;
+
+import physicssim.DataSet;
+
+/**
+ * Lead Author(s):
+ * @author Arthur Nguyen
+ *
+ * Version/date: October 17, 2026
+ *
+ * StripChart
+ *
+ * Live plot of one or more logged columns against t (e.g. x(t), or KE,
+ * PE and E together), scrolling with the last window seconds. The y axis
+ * fits the visible data; a legend names each series.
+ */
+
+public class StripChart extends LiveChart
+{
+	private static final long serialVersionUID = 1L;
+
+	private final int[] cols; // row columns (0 = x, 1 = v, ...)
+	private final String[] names;
+	private final Color[] colors;
+
+	// ===== Per-paint scratch, reused =====
+	private final Path2D.Float path = new Path2D.Float();
+	private final double[] minMax = new double[2];
+
+	/**
+	 * @param cols row columns to plot (0 = x, 1 = v, 2 = a, 3 = KE, ...)
+	 */
+	public StripChart(DataSet<double[]> data, String title, int[] cols,
+			String[] names, Color[] colors)
+	{
+		super(data, title);
+		if (cols.length != names.length || cols.length != colors.length)
+			throw new IllegalArgumentException(
+					"cols, names and colors must have the same length");
+		this.cols = cols.clone();
+		this.names = names.clone();
+		this.colors = colors.clone();
+	}
+
+	@Override
+	protected int[] columns()
+	{
+		return cols;
+	}
+
+	@Override
+	protected void plot(Graphics2D g2, int px, int py, int pw, int ph,
+			int count, double t0, double t1)
+	{
+		// One y range for all series, so they compare (e.g. KE + PE = E)
+		double lo = Double.POSITIVE_INFINITY, hi = Double.NEGATIVE_INFINITY;
+		for (int col : cols)
+		{
+			range(col, count, minMax);
+			lo = Math.min(lo, minMax[0]);
+			hi = Math.max(hi, minMax[1]);
+		}
+		double sx = t1 > t0 ? pw / (t1 - t0) : 0;
+		double sy = ph / (hi - lo);
+
+		g2.setStroke(LINE);
+		for (int s = 0; s < cols.length; s++)
+		{
+			path.reset();
+			for (int i = 0; i < count; i++)
+			{
+				int k = idx[i];
+				float x = (float) (px + (data.time(k, head) - t0) * sx);
+				float y = (float) (py + ph
+						- (data.value(k, head, cols[s]) - lo) * sy);
+				if (i == 0) path.moveTo(x, y);
+				else path.lineTo(x, y);
+			}
+			g2.setColor(colors[s]);
+			g2.draw(path);
+		}
+
+		// Axis range and legend
+		int decimals = decimalsFor(hi - lo);
+		g2.setColor(AXIS_TEXT);
+		drawLabel(g2, "", hi, decimals, 4, py + 10);
+		drawLabel(g2, "", lo, decimals, 4, py + ph);
+		drawLabel(g2, "t=", t1, 1, px + 4, py + ph - 4);
+		int lx = px + pw;
+		for (int s = cols.length - 1; s >= 0; s--)
+		{
+			lx -= g2.getFontMetrics().stringWidth(names[s]) + 8;
+			g2.setColor(colors[s]);
+			g2.drawString(names[s], lx, 13);
+		}
+	}
+}